@@ -0,0 +1,92 @@
+package TestNG;
+
+import org.openqa.selenium.json.Json;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Runs the benchmarks (any JMH command-line options, e.g. "LocatorBenchmark -p strategy=CSS"),
+// always writes JMH's JSON results, and compares every score against a saved baseline so a
+// slower version of the suite fails the run. All benchmarks report average time, lower is better.
+// Settings: -Dbench.results (default target/jmh-results.json), -Dbench.baseline (default jmh-baseline.json),
+//           -Dbench.maxRegressionPct (default 15), -Dbench.saveBaseline=true
+public final class BenchmarkMain {
+
+    private static final Path RESULTS = Paths.get(System.getProperty("bench.results", "target/jmh-results.json"));
+    private static final Path BASELINE = Paths.get(System.getProperty("bench.baseline", "jmh-baseline.json"));
+    private static final double MAX_REGRESSION_PCT = Double.parseDouble(System.getProperty("bench.maxRegressionPct", "15"));
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Files.createDirectories(RESULTS.toAbsolutePath().getParent());
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULTS.toString())
+                .build()).run();
+        System.out.println("[BENCH] Results written to " + RESULTS + " 📊");
+
+        List<String> regressions = compareWithBaseline();
+        if (Boolean.getBoolean("bench.saveBaseline")) {
+            Files.copy(RESULTS, BASELINE, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("[BENCH] Saved new baseline " + BASELINE + " 📊");
+        } else if (!regressions.isEmpty()) {
+            throw new IllegalStateException(regressions.size() + " benchmark(s) regressed by more than "
+                    + MAX_REGRESSION_PCT + "%: " + regressions);
+        }
+    }
+
+    // Prints the score change of each benchmark present in both files, returns the regressions
+    private static List<String> compareWithBaseline() throws IOException {
+        List<String> regressions = new ArrayList<>();
+        if (!Files.exists(BASELINE)) {
+            System.out.println("[BENCH] No baseline at " + BASELINE + ", skipping comparison 📊");
+            return regressions;
+        }
+        Map<String, Double> before = scores(BASELINE);
+        System.out.println("[BENCH] Score vs baseline (average time, lower is better) 📊");
+        for (Map.Entry<String, Double> now : scores(RESULTS).entrySet()) {
+            Double previous = before.get(now.getKey());
+            if (previous == null || previous == 0) {
+                continue;
+            }
+            double change = (now.getValue() - previous) / previous * 100;
+            System.out.println(String.format(Locale.ROOT, "[BENCH]   %-70s %12.3f -> %12.3f (%+.1f%%)",
+                    now.getKey(), previous, now.getValue(), change));
+            if (change > MAX_REGRESSION_PCT) {
+                regressions.add(now.getKey());
+            }
+        }
+        return regressions;
+    }
+
+    // "TestNG.LocatorBenchmark.findElement {strategy=CSS, target=PAYMENT_INFO}" -> score
+    @SuppressWarnings("unchecked")
+    private static Map<String, Double> scores(Path file) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        List<Map<String, Object>> runs = new Json().toType(Files.readString(file, StandardCharsets.UTF_8), List.class);
+        for (Map<String, Object> run : runs) {
+            Object params = run.get("params");
+            String key = run.get("benchmark") + (params == null ? "" : " " + new TreeMap<>((Map<String, Object>) params));
+            Map<String, Object> metric = (Map<String, Object>) run.get("primaryMetric");
+            scores.put(key, ((Number) metric.get("score")).doubleValue());
+        }
+        return scores;
+    }
+}
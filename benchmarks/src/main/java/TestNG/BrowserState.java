@@ -0,0 +1,57 @@
+package TestNG;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.net.URI;
+import java.time.Duration;
+
+// One headless Chrome session against an embedded LocalSauceDemoServer, logged in with
+// the first two products in the cart, so any app page can be opened directly.
+// Benchmarks hold one per trial; nothing here touches the public site.
+final class BrowserState {
+
+    final LocalSauceDemoServer server = LocalSauceDemoServer.start(0);
+    final WebDriver driver;
+    // Pinned, cached binaries and a profile template copy, as in the suite's DriverPool
+    private final DriverProvisioner.Session session;
+    final ElementCache cache = new ElementCache();
+    final DomWaits waits;
+
+    BrowserState() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--window-size=1366,768", "--disable-extensions", "--mute-audio");
+        session = DriverProvisioner.start(options);
+        // Navigations clear the element cache, as in the suite's DriverEventListener
+        driver = new EventFiringDecorator<WebDriver>(new WebDriverListener() {
+            @Override
+            public void afterGet(WebDriver driver, String url) {
+                cache.clear();
+            }
+        }).decorate(session.driver());
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.manage().timeouts().scriptTimeout(DomWaits.SCRIPT_TIMEOUT);
+        waits = new DomWaits(driver, cache);
+
+        // Cookies can only be set for the current origin, so open the login page first
+        driver.get(server.baseUrl());
+        driver.manage().addCookie(new Cookie("session-username", "standard_user", "/"));
+        driver.manage().addCookie(new Cookie("cart-contents",
+                SauceDemoCatalog.byIndex(1).id() + "-" + SauceDemoCatalog.byIndex(2).id(), "/"));
+    }
+
+    // Opens an app page, e.g. "checkout-step-two.html", and waits until it is ready
+    void open(String page) {
+        driver.get(URI.create(server.baseUrl()).resolve(page).toString());
+        waits.documentReady();
+    }
+
+    void close() {
+        driver.quit();
+        DriverProvisioner.deleteProfile(session.profileDir());
+        server.stop();
+    }
+}
@@ -0,0 +1,105 @@
+package TestNG;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Resolution cost of one findElement round trip per locator strategy, for the elements
+// the suite used to reach through absolute XPaths (checkout, continue, payment info, finish).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+
+    // One element, reachable through each strategy on the same page
+    public enum Target {
+        CHECKOUT_BUTTON("cart.html",
+                By.xpath("//*[@id=\"cart_contents_container\"]/div/div[2]/a[2]"),
+                By.xpath("//a[contains(@class,'checkout_button')]"),
+                Locators.CHECKOUT_BUTTON,
+                By.className("checkout_button")),
+        CONTINUE_CHECKOUT("checkout-step-one.html",
+                By.xpath("//*[@id=\"checkout_info_container\"]/div/form/div[2]/input"),
+                By.xpath("//input[contains(@class,'cart_button')]"),
+                Locators.CONTINUE_CHECKOUT,
+                By.className("cart_button")),
+        PAYMENT_INFO("checkout-step-two.html",
+                By.xpath("//*[@id=\"checkout_summary_container\"]/div/div[2]/div[2]"),
+                By.xpath("(//div[@class='summary_value_label'])[1]"),
+                Locators.PAYMENT_INFO,
+                By.className("summary_value_label")),
+        FINISH_BUTTON("checkout-step-two.html",
+                By.xpath("//*[@id=\"checkout_summary_container\"]/div/div[2]/div[8]/a[2]"),
+                By.xpath("//a[contains(@class,'cart_button')]"),
+                Locators.FINISH_BUTTON,
+                By.className("cart_button"));
+
+        final String page;
+        final By absoluteXPath;
+        final By relativeXPath;
+        final By css;
+        final By className;
+
+        Target(String page, By absoluteXPath, By relativeXPath, By css, By className) {
+            this.page = page;
+            this.absoluteXPath = absoluteXPath;
+            this.relativeXPath = relativeXPath;
+            this.css = css;
+            this.className = className;
+        }
+    }
+
+    public enum Strategy {
+        ABSOLUTE_XPATH, RELATIVE_XPATH, CSS, CLASS_NAME
+    }
+
+    @Param
+    public Target target;
+
+    @Param
+    public Strategy strategy;
+
+    private BrowserState browser;
+    private By locator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        browser = new BrowserState();
+        browser.open(target.page);
+        locator = switch (strategy) {
+            case ABSOLUTE_XPATH -> target.absoluteXPath;
+            case RELATIVE_XPATH -> target.relativeXPath;
+            case CSS -> target.css;
+            case CLASS_NAME -> target.className;
+        };
+        // Fail fast if a strategy does not reach the element on this copy of the page
+        browser.driver.findElement(locator);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        browser.close();
+    }
+
+    @Benchmark
+    public WebElement findElement() {
+        return browser.driver.findElement(locator);
+    }
+}
@@ -0,0 +1,91 @@
+package TestNG;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Element-lookup patterns on the inventory page: one round trip per card field (the
+// original verifyAllProductCards) against a single DomSnapshot script, cached against
+// uncached handles, and the explicit-wait styles the suite has used.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+
+    private BrowserState browser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        browser = new BrowserState();
+        browser.open("inventory.html");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        browser.close();
+    }
+
+    // Every card, then name, description and price of each card: 1 + 6 x 3 x 2 round trips
+    @Benchmark
+    public void productCardsPerField(Blackhole blackhole) {
+        List<WebElement> cards = browser.driver.findElements(Locators.INVENTORY_ITEM);
+        for (WebElement card : cards) {
+            blackhole.consume(card.findElement(Locators.ITEM_NAME).getText());
+            blackhole.consume(card.findElement(By.cssSelector(".inventory_item_desc")).getText());
+            blackhole.consume(card.findElement(Locators.ITEM_PRICE).getText());
+        }
+    }
+
+    // The same data in one script round trip
+    @Benchmark
+    public List<DomSnapshot.ProductCard> productCardsSnapshot() {
+        return DomSnapshot.productCards(browser.driver);
+    }
+
+    @Benchmark
+    public WebElement findUncached() {
+        return browser.driver.findElement(Locators.PRODUCTS_TITLE);
+    }
+
+    // Handle from the navigation-scoped ElementCache; only the first call costs a round trip
+    @Benchmark
+    public WebElement findCached() {
+        return browser.waits.find(Locators.PRODUCTS_TITLE);
+    }
+
+    // Original style: WebDriverWait polling ExpectedConditions-like visibility
+    @Benchmark
+    public WebElement visiblePolling() {
+        return new WebDriverWait(browser.driver, Duration.ofSeconds(15))
+                .until(driver -> {
+                    WebElement element = driver.findElement(Locators.PRODUCTS_TITLE);
+                    return element.isDisplayed() ? element : null;
+                });
+    }
+
+    // Current style: one async script resolving when the condition holds
+    @Benchmark
+    public WebElement visibleObserver() {
+        return browser.waits.visible(Locators.PRODUCTS_TITLE);
+    }
+}
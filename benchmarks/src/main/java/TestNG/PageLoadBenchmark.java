@@ -0,0 +1,63 @@
+package TestNG;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// How much waitForPageLoad adds to a navigation: the bare driver.get, the original
+// readyState polling with WebDriverWait, and the current DomWaits.documentReady.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageLoadBenchmark {
+
+    private BrowserState browser;
+    private String inventoryUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        browser = new BrowserState();
+        inventoryUrl = URI.create(browser.server.baseUrl()).resolve("inventory.html").toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        browser.close();
+    }
+
+    @Benchmark
+    public void navigateOnly() {
+        browser.driver.get(inventoryUrl);
+    }
+
+    @Benchmark
+    public void navigateAndPollReadyState() {
+        browser.driver.get(inventoryUrl);
+        new WebDriverWait(browser.driver, Duration.ofSeconds(10)).until(driver ->
+                "complete".equals(((JavascriptExecutor) driver).executeScript("return document.readyState")));
+    }
+
+    @Benchmark
+    public void navigateAndDocumentReady() {
+        browser.driver.get(inventoryUrl);
+        browser.waits.documentReady();
+    }
+}
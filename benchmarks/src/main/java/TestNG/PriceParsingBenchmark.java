@@ -0,0 +1,98 @@
+package TestNG;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.util.concurrent.TimeUnit;
+
+// The order summary arithmetic of verifyOrderSummaryDetails without a browser: parse the
+// three summary labels, check total = item total + tax, and format them for the log.
+// Compares the suite's MoneyFormat / OrderSummaryValidator, which parse to exact cents with
+// full format validation, against the former implementations it replaced (replace +
+// Double.parseDouble + DecimalFormat, and BigDecimal parsing) and a hand-rolled parse to cents.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceParsingBenchmark {
+
+    // Not final, so the JIT cannot constant-fold the inputs
+    private String itemTotalText = "Item total: $29.98";
+    private String taxText = "Tax: $2.40";
+    private String totalText = "Total: $32.38";
+
+    private final DecimalFormat df = new DecimalFormat("0.00");
+    private final OrderSummaryValidator validator = new OrderSummaryValidator(MoneyFormat.US, SauceDemoCatalog.TAX_RATE);
+
+    // Former verifyOrderSummaryDetails implementation, before MoneyFormat
+    @Benchmark
+    public void replaceParseDoubleAndFormat(Blackhole blackhole) {
+        double itemTotal = Double.parseDouble(itemTotalText.replace("Item total: $", ""));
+        double tax = Double.parseDouble(taxText.replace("Tax: $", ""));
+        double total = Double.parseDouble(totalText.replace("Total: $", ""));
+        blackhole.consume(df.format(itemTotal));
+        blackhole.consume(df.format(tax));
+        blackhole.consume(df.format(total));
+        blackhole.consume(Math.abs(itemTotal + tax - total) > 0.01);
+    }
+
+    // Former implementation, parsing only, to separate it from the DecimalFormat cost
+    @Benchmark
+    public boolean replaceParseDouble() {
+        double itemTotal = Double.parseDouble(itemTotalText.replace("Item total: $", ""));
+        double tax = Double.parseDouble(taxText.replace("Tax: $", ""));
+        double total = Double.parseDouble(totalText.replace("Total: $", ""));
+        return Math.abs(itemTotal + tax - total) > 0.01;
+    }
+
+    // As in the checkout matrix's former amount(text, label)
+    @Benchmark
+    public boolean bigDecimal() {
+        BigDecimal itemTotal = new BigDecimal(itemTotalText.substring("Item total: $".length()).trim());
+        BigDecimal tax = new BigDecimal(taxText.substring("Tax: $".length()).trim());
+        BigDecimal total = new BigDecimal(totalText.substring("Total: $".length()).trim());
+        return itemTotal.add(tax).compareTo(total) != 0;
+    }
+
+    // As in verifyOrderSummaryDetails and the checkout matrix: labels, symbol, grouping and decimals
+    // validated, tax and total checked exactly
+    @Benchmark
+    public boolean moneyFormat() {
+        return validator.validate(validator.parse(itemTotalText, taxText, totalText)).isEmpty();
+    }
+
+    // Digits after the '$' accumulated into a long number of cents
+    @Benchmark
+    public boolean cents() {
+        return cents(itemTotalText) + cents(taxText) != cents(totalText);
+    }
+
+    private static long cents(String text) {
+        long cents = 0;
+        int decimals = -1;
+        for (int i = text.indexOf('$') + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                decimals = 0;
+            } else if (c >= '0' && c <= '9') {
+                cents = cents * 10 + (c - '0');
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            }
+        }
+        return decimals <= 0 ? cents * 100 : decimals == 1 ? cents * 10 : cents;
+    }
+}
@@ -0,0 +1,74 @@
+package TestNG;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Capture cost of the screenshot modes available to takeScreenshot on the inventory page:
+// viewport PNG as bytes (what ScreenshotPipeline uses) or base64, a single element, and a
+// DevTools JPEG capture. Disk writing is left out; the pipeline does that off-thread.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScreenshotBenchmark {
+
+    private BrowserState browser;
+    private DevTools devTools;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        browser = new BrowserState();
+        browser.open("inventory.html");
+        devTools = ((HasDevTools) browser.driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        browser.close();
+    }
+
+    @Benchmark
+    public byte[] viewportPngBytes() {
+        return ((TakesScreenshot) browser.driver).getScreenshotAs(OutputType.BYTES);
+    }
+
+    // Skips the base64 decode done for BYTES
+    @Benchmark
+    public String viewportPngBase64() {
+        return ((TakesScreenshot) browser.driver).getScreenshotAs(OutputType.BASE64);
+    }
+
+    @Benchmark
+    public byte[] elementPng() {
+        return browser.driver.findElement(Locators.INVENTORY_ITEM).getScreenshotAs(OutputType.BYTES);
+    }
+
+    @Benchmark
+    public Object viewportJpegDevTools() {
+        Map<String, Object> result = devTools.send(new Command<Map<String, Object>>("Page.captureScreenshot",
+                Map.of("format", "jpeg", "quality", 60), input -> input.read(Json.MAP_TYPE)));
+        return result.get("data");
+    }
+}
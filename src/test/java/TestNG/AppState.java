@@ -0,0 +1,83 @@
+package TestNG;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+// Puts the app into a named state in one step by writing the client-side state it reads
+// (session cookie, "cart-contents" in localStorage) and opening the matching page directly,
+// so every scenario can run on its own instead of replaying earlier tests
+public final class AppState {
+
+    // Named funnel stages and the page each one lands on
+    public enum Stage {
+        LOGGED_IN(Page.PRODUCTS),
+        CART(Page.CART),
+        CHECKOUT_INFO(Page.CHECKOUT_INFO),
+        CHECKOUT_INFO_SUBMITTED(Page.CHECKOUT_OVERVIEW);
+
+        private final Page page;
+
+        Stage(Page page) {
+            this.page = page;
+        }
+
+        public String page() {
+            return page.path();
+        }
+    }
+
+    private static final String WRITE_CART_SCRIPT = """
+            var ids = arguments[0];
+            if (ids.length) {
+              localStorage.setItem('cart-contents', JSON.stringify(ids));
+              document.cookie = 'cart-contents=' + ids.join('-') + '; path=/';
+            } else {
+              localStorage.removeItem('cart-contents');
+              document.cookie = 'cart-contents=; path=/; max-age=0';
+            }
+            """;
+
+    private final WebDriver driver;
+    private final BiConsumer<String, String> uiLogin;
+
+    // uiLogin performs a real login from the login page, used when no cached session is valid
+    public AppState(WebDriver driver, BiConsumer<String, String> uiLogin) {
+        this.driver = driver;
+        this.uiLogin = uiLogin;
+    }
+
+    // Logged in with an empty cart, on the inventory page
+    public void loggedIn(String username, String password) {
+        seed(Stage.LOGGED_IN, username, password, List.of());
+    }
+
+    // Logged in with exactly these products in the cart, on the cart page
+    public void cartContains(String username, String password, SauceDemoCatalog.Product... products) {
+        seed(Stage.CART, username, password, List.of(products));
+    }
+
+    // Checkout information already submitted for these products, on the checkout overview page
+    public void checkoutInfoSubmitted(String username, String password, SauceDemoCatalog.Product... products) {
+        seed(Stage.CHECKOUT_INFO_SUBMITTED, username, password, List.of(products));
+    }
+
+    // Seeds any stage with the given cart contents
+    public void seed(Stage stage, String username, String password, List<SauceDemoCatalog.Product> cart) {
+        StepLog.info("Seeding {} for {} with {} cart items", stage, username, cart.size());
+
+        // Leaves the browser on an app page of the right origin, so storage can be written
+        SessionCache.login(driver, username, () -> uiLogin.accept(username, password));
+
+        List<Integer> ids = new ArrayList<>();
+        for (SauceDemoCatalog.Product product : cart) {
+            ids.add(product.id());
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_CART_SCRIPT, ids);
+
+        driver.get(TestConfig.pageUrl(stage.page()));
+    }
+}
@@ -0,0 +1,13 @@
+package TestNG;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a test class that never leases a browser (e.g. the HTML tier); a suite made only of
+// such classes starts no Chrome sessions up front
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Browserless {
+}
@@ -0,0 +1,246 @@
+package TestNG;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonOutput;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Data-driven checkout matrix. Scenarios stream lazily from a CSV or JSONL file and are
+// pulled one at a time by parallel workers; each outcome is appended to a JSONL results
+// file as soon as it is known, so memory stays bounded however large the matrix is.
+// TestNG keeps every ITestResult in memory, so rows are not individual invocations: the
+// data provider hands out one invocation per worker and the workers drain this source.
+//
+// CSV: header row with id,firstName,lastName,postalCode,products,expect; products are
+// 1-based inventory positions separated by '|'; expect is "complete" or "error".
+// JSONL: one object per line with the same keys, products as a JSON array.
+// A malformed row becomes a scenario carrying its parse error, recorded as ERROR without a
+// browser run; the workers carry on with the following rows.
+// Parallelism: SuiteListener sets the TestNG data-provider thread count to matrix.workers.
+// Settings: -Dmatrix=true (run the bundled sample), -Dmatrix.file=path/to/file.csv|.jsonl,
+//           -Dmatrix.workers (default -Dthreads), -Dmatrix.results (default target/checkout-matrix/results.jsonl;
+//           runs under a network profile write results-<profile>.jsonl next to it)
+public final class CheckoutMatrix implements Closeable {
+
+    private static final String SAMPLE = "/checkout-matrix.csv";
+    private static final Json JSON = new Json();
+
+    // One row of the matrix; invalid is the parse error of a malformed row, null otherwise
+    public record Scenario(String id, String firstName, String lastName, String postalCode,
+                           List<SauceDemoCatalog.Product> products, boolean expectError, String invalid) {
+
+        static Scenario malformed(String id, String problem) {
+            return new Scenario(id, "", "", "", List.of(), false, problem);
+        }
+    }
+
+    public enum Status {
+        PASS, FAIL, ERROR
+    }
+
+    // What happened to one scenario
+    public record Outcome(Status status, String detail) {
+    }
+
+    private final String source;
+    private final BufferedReader reader;
+    private final boolean jsonl;
+    private final BufferedWriter results;
+    private final Path resultsPath;
+    private final AtomicInteger activeWorkers;
+
+    private List<String> header;
+    private long lineNumber;
+    private boolean exhausted;
+    private final Map<Status, Integer> counts = new HashMap<>();
+
+    private CheckoutMatrix(String source, InputStream in, int workers, String label) throws IOException {
+        this.source = source;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.jsonl = source.endsWith(".jsonl");
+        Path results = Paths.get(System.getProperty("matrix.results", "target/checkout-matrix/results.jsonl"));
+        this.resultsPath = label.isEmpty() ? results
+                : results.resolveSibling(results.getFileName().toString().replaceFirst("(\\.jsonl)?$", "-" + label + ".jsonl"));
+        Files.createDirectories(resultsPath.toAbsolutePath().getParent());
+        this.results = Files.newBufferedWriter(resultsPath, StandardCharsets.UTF_8);
+        this.activeWorkers = new AtomicInteger(workers);
+    }
+
+    // True when a matrix run was requested
+    public static boolean enabled() {
+        return Boolean.getBoolean("matrix") || System.getProperty("matrix.file") != null;
+    }
+
+    public static int workers() {
+        return Integer.getInteger("matrix.workers", TestConfig.threadCount());
+    }
+
+    // Opens the configured file (or the bundled sample) for the given number of workers;
+    // a non-empty label (e.g. the network profile) gets its own results file
+    public static CheckoutMatrix open(int workers, String label) {
+        String file = System.getProperty("matrix.file");
+        try {
+            if (file != null) {
+                return new CheckoutMatrix(file, Files.newInputStream(Paths.get(file)), workers, label);
+            }
+            InputStream sample = CheckoutMatrix.class.getResourceAsStream(SAMPLE);
+            if (sample == null) {
+                throw new IllegalStateException("Sample matrix " + SAMPLE + " not on the classpath");
+            }
+            return new CheckoutMatrix(SAMPLE, sample, workers, label);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open checkout matrix " + file, e);
+        }
+    }
+
+    // Next scenario, or null once the source is drained. Shared by all workers.
+    public synchronized Scenario next() {
+        if (exhausted) {
+            return null;
+        }
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                if (!jsonl && header == null) {
+                    header = parseCsvLine(line);
+                    continue;
+                }
+                try {
+                    return jsonl ? fromJson(line) : fromCsv(parseCsvLine(line));
+                } catch (IllegalArgumentException | IndexOutOfBoundsException | ClassCastException | NullPointerException e) {
+                    return Scenario.malformed("line-" + lineNumber, "Malformed row in " + source + " at line "
+                            + lineNumber + ": " + e.getClass().getSimpleName() + ": " + e.getMessage());
+                }
+            }
+            exhausted = true;
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed reading " + source + " at line " + lineNumber, e);
+        }
+    }
+
+    // Appends one outcome to the results file right away
+    public synchronized void record(Scenario scenario, Outcome outcome, long nanos) {
+        counts.merge(outcome.status(), 1, Integer::sum);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", scenario.id());
+        row.put("status", outcome.status().name());
+        row.put("detail", outcome.detail());
+        row.put("products", scenario.products().stream().map(SauceDemoCatalog.Product::name).toList());
+        row.put("durationMs", nanos / 1_000_000);
+        row.put("thread", Thread.currentThread().getName());
+
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput out = JSON.newOutput(line)) {
+            out.setPrettyPrint(false).write(row);
+        }
+        try {
+            results.write(line.toString());
+            results.newLine();
+            results.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed writing " + resultsPath, e);
+        }
+    }
+
+    // Called by each worker when it finds the source drained; the last one closes the matrix
+    public void workerDone() {
+        if (activeWorkers.decrementAndGet() == 0) {
+            close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            reader.close();
+            results.close();
+        } catch (IOException e) {
+            StepLog.warn("Failed to close checkout matrix: {}", e.getMessage());
+        }
+        System.out.println("[MATRIX] " + source + ": " + counts + ", results in " + resultsPath + " 📊");
+    }
+
+    private Scenario fromCsv(List<String> fields) {
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.size() && i < fields.size(); i++) {
+            row.put(header.get(i).trim(), fields.get(i));
+        }
+        List<SauceDemoCatalog.Product> products = new ArrayList<>();
+        for (String index : row.getOrDefault("products", "").split("\\|")) {
+            if (!index.isBlank()) {
+                products.add(SauceDemoCatalog.byIndex(Integer.parseInt(index.trim())));
+            }
+        }
+        return new Scenario(row.getOrDefault("id", "line-" + lineNumber), row.getOrDefault("firstName", ""),
+                row.getOrDefault("lastName", ""), row.getOrDefault("postalCode", ""), products,
+                "error".equalsIgnoreCase(row.get("expect")), null);
+    }
+
+    private Scenario fromJson(String line) {
+        Map<String, Object> row;
+        try {
+            row = JSON.toType(line, Json.MAP_TYPE);
+        } catch (JsonException e) {
+            throw new IllegalArgumentException("Invalid JSON in " + source + " at line " + lineNumber, e);
+        }
+        List<SauceDemoCatalog.Product> products = new ArrayList<>();
+        for (Object index : (List<?>) row.getOrDefault("products", List.of())) {
+            products.add(SauceDemoCatalog.byIndex(((Number) index).intValue()));
+        }
+        return new Scenario(String.valueOf(row.getOrDefault("id", "line-" + lineNumber)),
+                String.valueOf(row.getOrDefault("firstName", "")), String.valueOf(row.getOrDefault("lastName", "")),
+                String.valueOf(row.getOrDefault("postalCode", "")), products,
+                "error".equalsIgnoreCase(String.valueOf(row.get("expect"))), null);
+    }
+
+    // Splits one CSV line, honouring double quotes and "" escapes (no embedded newlines)
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,100 @@
+package TestNG;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Reads every product card or cart row in a single executeScript call, so checks run
+// against in-memory records instead of one WebDriver round trip per field
+public final class DomSnapshot {
+
+    private static final String SNAPSHOT_SCRIPT = """
+            var rows = document.querySelectorAll(arguments[0]);
+            function visible(el) {
+              if (!el || !el.isConnected) return false;
+              var style = window.getComputedStyle(el);
+              if (style.display === 'none' || style.visibility === 'hidden' || parseFloat(style.opacity) === 0) return false;
+              var rect = el.getBoundingClientRect();
+              return rect.width > 0 && rect.height > 0;
+            }
+            function text(el) { return el ? el.innerText.trim() : null; }
+            var out = [];
+            for (var i = 0; i < rows.length; i++) {
+              var row = rows[i];
+              var name = row.querySelector('.inventory_item_name');
+              var desc = row.querySelector('.inventory_item_desc');
+              var price = row.querySelector('.inventory_item_price');
+              var button = row.querySelector('button');
+              var image = row.querySelector('img.inventory_item_img');
+              var quantity = row.querySelector('.cart_quantity');
+              out.push({
+                name: text(name), nameVisible: visible(name),
+                description: text(desc), descriptionVisible: visible(desc),
+                price: text(price), priceVisible: visible(price),
+                buttonLabel: text(button), buttonVisible: visible(button), button: button,
+                imagePresent: !!image && image.complete && image.naturalWidth > 0, imageVisible: visible(image),
+                quantity: text(quantity)
+              });
+            }
+            return out;
+            """;
+
+    // One inventory card, as rendered at snapshot time
+    public record ProductCard(int index, String name, String description, String price, String buttonLabel,
+                              boolean nameVisible, boolean descriptionVisible, boolean priceVisible,
+                              boolean buttonVisible, boolean imagePresent, boolean imageVisible,
+                              WebElement button) {
+
+        // True when every field of the card is displayed
+        public boolean allVisible() {
+            return nameVisible && descriptionVisible && priceVisible && buttonVisible && imageVisible;
+        }
+    }
+
+    // One cart row, as rendered at snapshot time
+    public record CartItem(int index, String quantity, String name, String description, String price,
+                           String buttonLabel, WebElement button) {
+    }
+
+    private DomSnapshot() {
+    }
+
+    // Snapshots all .inventory_item cards on the current page
+    public static List<ProductCard> productCards(WebDriver driver) {
+        List<ProductCard> cards = new ArrayList<>();
+        for (Map<String, Object> row : snapshot(driver, ".inventory_item")) {
+            cards.add(new ProductCard(cards.size() + 1,
+                    (String) row.get("name"), (String) row.get("description"),
+                    (String) row.get("price"), (String) row.get("buttonLabel"),
+                    flag(row, "nameVisible"), flag(row, "descriptionVisible"), flag(row, "priceVisible"),
+                    flag(row, "buttonVisible"), flag(row, "imagePresent"), flag(row, "imageVisible"),
+                    (WebElement) row.get("button")));
+        }
+        return cards;
+    }
+
+    // Snapshots all .cart_item rows on the current page
+    public static List<CartItem> cartItems(WebDriver driver) {
+        List<CartItem> items = new ArrayList<>();
+        for (Map<String, Object> row : snapshot(driver, ".cart_item")) {
+            items.add(new CartItem(items.size() + 1, (String) row.get("quantity"),
+                    (String) row.get("name"), (String) row.get("description"),
+                    (String) row.get("price"), (String) row.get("buttonLabel"),
+                    (WebElement) row.get("button")));
+        }
+        return items;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> snapshot(WebDriver driver, String rowSelector) {
+        return (List<Map<String, Object>>) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, rowSelector);
+    }
+
+    private static boolean flag(Map<String, Object> row, String key) {
+        return Boolean.TRUE.equals(row.get(key));
+    }
+}
@@ -0,0 +1,250 @@
+package TestNG;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Event-driven waits: instead of polling from Java, a MutationObserver installed in the
+// page re-evaluates the condition whenever the DOM changes (or a transition/load event
+// fires) and answers the pending async script as soon as it holds.
+// Drivers run with a zero implicit wait, so absence checks return immediately.
+// Locators: CSS, XPath, id, name, class name, tag name, link text and partial link text;
+// anything else (e.g. relative or chained locators) is rejected with IllegalArgumentException.
+public final class DomWaits {
+
+    // Default timeout for explicit waits (visible, clickable, invisible, page load)
+    static final Duration WAIT_TIMEOUT = Duration.ofSeconds(15);
+
+    // Timeout for plain lookups, replacing the old 5s implicit wait
+    static final Duration LOOKUP_TIMEOUT = Duration.ofSeconds(5);
+
+    // Script timeout must outlive the longest in-page wait
+    static final Duration SCRIPT_TIMEOUT = WAIT_TIMEOUT.plusSeconds(5);
+
+    private static final String WAIT_SCRIPT = """
+            var using = arguments[0], value = arguments[1], condition = arguments[2], timeout = arguments[3];
+            var done = arguments[arguments.length - 1];
+            function find() {
+              if (using === 'xpath') {
+                var r = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                var out = [];
+                for (var i = 0; i < r.snapshotLength; i++) out.push(r.snapshotItem(i));
+                return out;
+              }
+              if (using === 'link text' || using === 'partial link text') {
+                return Array.prototype.filter.call(document.getElementsByTagName('a'), function (a) {
+                  var text = (a.innerText || a.textContent || '').trim();
+                  return using === 'link text' ? text === value : text.indexOf(value) >= 0;
+                });
+              }
+              return Array.prototype.slice.call(document.querySelectorAll(value));
+            }
+            function visible(el) {
+              if (!el.isConnected) return false;
+              var style = window.getComputedStyle(el);
+              if (style.display === 'none' || style.visibility === 'hidden' || parseFloat(style.opacity) === 0) return false;
+              var rect = el.getBoundingClientRect();
+              return rect.width > 0 && rect.height > 0 && rect.right > 0 && rect.bottom > 0;
+            }
+            function check() {
+              if (condition === 'ready') return document.readyState === 'complete' ? true : null;
+              var els = find(), i;
+              switch (condition) {
+                case 'present': return els.length ? els[0] : null;
+                case 'presentAll': return els.length ? els : null;
+                case 'visible':
+                  for (i = 0; i < els.length; i++) if (visible(els[i])) return els[i];
+                  return null;
+                case 'clickable':
+                  for (i = 0; i < els.length; i++) if (visible(els[i]) && !els[i].disabled) return els[i];
+                  return null;
+                case 'allVisible': return els.length && els.every(visible) ? els : null;
+                case 'invisible': return els.some(visible) ? null : true;
+              }
+              return null;
+            }
+            var result = check();
+            if (result !== null) { done(result); return; }
+            var finished = false, timer;
+            var observer = new MutationObserver(recheck);
+            function recheck() {
+              var r = check();
+              if (r !== null) finish(r);
+            }
+            function finish(r) {
+              if (finished) return;
+              finished = true;
+              observer.disconnect();
+              clearTimeout(timer);
+              document.removeEventListener('transitionend', recheck, true);
+              document.removeEventListener('animationend', recheck, true);
+              document.removeEventListener('readystatechange', recheck);
+              window.removeEventListener('load', recheck);
+              done(r);
+            }
+            observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+            document.addEventListener('transitionend', recheck, true);
+            document.addEventListener('animationend', recheck, true);
+            document.addEventListener('readystatechange', recheck);
+            window.addEventListener('load', recheck);
+            timer = setTimeout(function () { finish(null); }, timeout);
+            """;
+
+    // Total blocked time and number of waits, keyed by condition
+    private static final Map<String, LongAdder> BLOCKED_NANOS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> WAIT_COUNTS = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final ElementCache cache;
+
+    DomWaits(WebDriver driver, ElementCache cache) {
+        this.driver = driver;
+        this.cache = cache;
+    }
+
+    // Waits until an element matching the locator is visible
+    public WebElement visible(By locator) {
+        return (WebElement) await("visible", locator, WAIT_TIMEOUT);
+    }
+
+    // Waits until an element matching the locator is visible and enabled
+    public WebElement clickable(By locator) {
+        return (WebElement) await("clickable", locator, WAIT_TIMEOUT);
+    }
+
+    // Waits until at least one element matches and every match is visible
+    @SuppressWarnings("unchecked")
+    public List<WebElement> allVisible(By locator) {
+        return (List<WebElement>) await("allVisible", locator, WAIT_TIMEOUT);
+    }
+
+    // Waits until no element matching the locator is visible
+    public void invisible(By locator) {
+        await("invisible", locator, WAIT_TIMEOUT);
+    }
+
+    // Waits until document.readyState is complete
+    public void documentReady() {
+        await("ready", null, WAIT_TIMEOUT);
+    }
+
+    // Finds an element, waiting briefly for it to be attached like an implicit wait would.
+    // Handles are cached for the current page, so repeated lookups cost no round trip.
+    public WebElement find(By locator) {
+        return cache.get(locator, () -> lookup(locator));
+    }
+
+    private WebElement lookup(By locator) {
+        try {
+            return (WebElement) await("present", locator, LOOKUP_TIMEOUT);
+        } catch (TimeoutException e) {
+            throw new NoSuchElementException("No element found for " + locator, e);
+        }
+    }
+
+    // Finds all matching elements, returning an empty list if none appear in time
+    @SuppressWarnings("unchecked")
+    public List<WebElement> findAll(By locator) {
+        try {
+            return (List<WebElement>) await("presentAll", locator, LOOKUP_TIMEOUT);
+        } catch (TimeoutException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    // Immediate absence check, never blocks
+    public boolean isAbsent(By locator) {
+        long start = System.nanoTime();
+        boolean absent = driver.findElements(locator).isEmpty();
+        record("absent", System.nanoTime() - start);
+        return absent;
+    }
+
+    private Object await(String condition, By locator, Duration timeout) {
+        String using = "css selector";
+        String value = null;
+        if (locator != null) {
+            if (!(locator instanceof By.Remotable remotable)) {
+                throw unsupported(locator);
+            }
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            value = String.valueOf(parameters.value());
+            // id, name and class name already arrive as CSS; a tag name is a valid CSS selector
+            using = switch (parameters.using()) {
+                case "css selector", "tag name" -> "css selector";
+                case "xpath", "link text", "partial link text" -> parameters.using();
+                default -> throw unsupported(locator);
+            };
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        try (StepTimer.PhaseTimer ignored = StepTimer.phase(StepTimer.Phase.WAIT)) {
+            while (true) {
+                long remainingMs = Math.max(0, (deadline - System.nanoTime()) / 1_000_000);
+                try {
+                    Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                            WAIT_SCRIPT, using, value, condition, remainingMs);
+                    if (result == null) {
+                        throw new TimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for "
+                                + condition + (locator == null ? "" : " " + locator));
+                    }
+                    return result;
+                } catch (JavascriptException | StaleElementReferenceException e) {
+                    // Page navigated away while the observer was attached, retry on the new document;
+                    // any other script error (e.g. an invalid selector) would fail again on every retry
+                    if (e instanceof JavascriptException && !documentUnloaded(e)) {
+                        throw e;
+                    }
+                    if (System.nanoTime() >= deadline) {
+                        throw new TimeoutException("Timed out waiting for " + condition + " " + locator, e);
+                    }
+                }
+            }
+        } finally {
+            long blocked = System.nanoTime() - start;
+            record(condition, blocked);
+            StepLog.debug("Wait {} {} blocked {} ms", condition, locator == null ? "" : locator, blocked / 1_000_000);
+        }
+    }
+
+    private static boolean documentUnloaded(RuntimeException e) {
+        String message = e.getMessage();
+        return message != null && (message.contains("document unloaded")
+                || message.contains("Execution context was destroyed"));
+    }
+
+    private static IllegalArgumentException unsupported(By locator) {
+        return new IllegalArgumentException("DomWaits supports CSS, XPath, id, name, class name, tag name and link text"
+                + " locators, not " + locator);
+    }
+
+    private static void record(String condition, long nanos) {
+        BLOCKED_NANOS.computeIfAbsent(condition, k -> new LongAdder()).add(nanos);
+        WAIT_COUNTS.computeIfAbsent(condition, k -> new LongAdder()).increment();
+    }
+
+    // Prints total and average blocked time per wait condition
+    public static void printSummary() {
+        System.out.println("[WAIT] Blocked time per condition ⏱️");
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(BLOCKED_NANOS).entrySet()) {
+            long total = entry.getValue().sum();
+            long count = WAIT_COUNTS.get(entry.getKey()).sum();
+            System.out.println("[WAIT]   " + entry.getKey() + ": " + count + " waits, total "
+                    + total / 1_000_000 + " ms, avg " + total / count / 1_000 + " µs ⏱️");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package TestNG;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+
+// Observes every call made through a decorated driver and charges its duration to the
+// open StepTimer steps as WebDriver round-trip time. Only the outermost call is timed,
+// so element calls made while another call is in flight are not counted twice.
+// Navigations, clicks and submits clear the session's element cache; outermost calls and errors go to the
+// session's trace buffer when tracing is on.
+public class DriverEventListener implements WebDriverListener {
+
+    // [0] = call depth, [1] = start of the outermost call
+    private static final ThreadLocal<long[]> CALL = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final ElementCache cache;
+    private final TraceBuffer trace;
+
+    // trace may be null when tracing is disabled
+    public DriverEventListener(ElementCache cache, TraceBuffer trace) {
+        this.cache = cache;
+        this.trace = trace;
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        cache.clear();
+    }
+
+    // A click or submit may load a new document (links, form posts, script navigation)
+    @Override
+    public void afterClick(WebElement element) {
+        cache.clear();
+    }
+
+    @Override
+    public void afterSubmit(WebElement element) {
+        cache.clear();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        cache.clear();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, URL url) {
+        cache.clear();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        cache.clear();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        cache.clear();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        cache.clear();
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        long[] call = CALL.get();
+        if (call[0]++ == 0) {
+            call[1] = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        endCall(TraceBuffer.Kind.COMMAND, target, method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        endCall(TraceBuffer.Kind.ERROR, target, method, e.getCause());
+    }
+
+    private void endCall(TraceBuffer.Kind kind, Object target, Method method, Object extra) {
+        long[] call = CALL.get();
+        if (--call[0] == 0) {
+            long elapsed = System.nanoTime() - call[1];
+            StepTimer.recordRoundTrip(elapsed);
+            if (trace != null) {
+                trace.record(kind, call[1], elapsed, method.getName(), target, extra);
+            }
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package TestNG;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pool of pre-started browser sessions shared by all test classes. Each test leases a
+// session for its thread, starting from a fast reset (cookies and storage cleared,
+// about:blank) instead of a Chrome cold start. Sessions are health-checked on lease and
+// recycled after a number of uses to bound memory growth.
+// Settings: -Dpool.size (sessions started up front, default -Dthreads), -Dpool.maxUses (default 50)
+public final class DriverPool {
+
+    private static final int MAX_USES = Integer.getInteger("pool.maxUses", 50);
+
+    private static final String CLEAR_STORAGE_SCRIPT = """
+            try { localStorage.clear(); } catch (e) {}
+            try { sessionStorage.clear(); } catch (e) {}
+            """;
+
+    // A browser session, the waits (and element cache) bound to it, its lean-mode request
+    // blocking and its trace buffer (both null when off), the network profile it is
+    // currently emulating and its Chrome profile copy (null for Grid sessions)
+    private static final class PooledDriver {
+        final WebDriver driver;
+        final DomWaits waits;
+        final LeanProfile lean;
+        final TraceBuffer trace;
+        final Path profileDir;
+        // Short id for log tagging, e.g. "s3"
+        final String id = "s" + SESSION_IDS.incrementAndGet();
+        NetworkProfile network = NetworkProfile.NONE;
+        ScheduledFuture<?> networkRecovery;
+        int uses;
+
+        PooledDriver(WebDriver driver, ElementCache cache, LeanProfile lean, TraceBuffer trace, Path profileDir) {
+            this.driver = driver;
+            this.waits = new DomWaits(driver, cache);
+            this.lean = lean;
+            this.trace = trace;
+            this.profileDir = profileDir;
+        }
+    }
+
+    private static final BlockingDeque<PooledDriver> IDLE = new LinkedBlockingDeque<>();
+    private static final ThreadLocal<PooledDriver> LEASED = new ThreadLocal<>();
+
+    // Every session currently alive, idle or leased, so the suite can quit them all at the end
+    private static final Queue<PooledDriver> ALL_DRIVERS = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicInteger SESSION_IDS = new AtomicInteger();
+    private static final AtomicInteger HITS = new AtomicInteger();
+    private static final AtomicInteger MISSES = new AtomicInteger();
+    private static final AtomicInteger RECYCLED = new AtomicInteger();
+    private static final AtomicInteger UNHEALTHY = new AtomicInteger();
+    private static final LatencyHistogram STARTUP = new LatencyHistogram();
+
+    private DriverPool() {
+    }
+
+    // Starts sessions in parallel so the first tests find warm browsers
+    public static void prewarm(int size) {
+        StepLog.info("Pre-starting {} browser sessions", size);
+        ExecutorService starter = Executors.newFixedThreadPool(Math.max(1, size));
+        try {
+            List<Future<PooledDriver>> started = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                started.add(starter.submit(DriverPool::createDriver));
+            }
+            for (Future<PooledDriver> future : started) {
+                try {
+                    IDLE.offer(future.get());
+                } catch (Exception e) {
+                    StepLog.warn("Failed to pre-start browser: {}", e.getMessage());
+                }
+            }
+        } finally {
+            starter.shutdown();
+        }
+    }
+
+    // Leases a session to the calling thread, reusing a warm one when available
+    public static WebDriver lease() {
+        PooledDriver pooled = LEASED.get();
+        if (pooled != null) {
+            return pooled.driver;
+        }
+        while ((pooled = IDLE.pollFirst()) != null) {
+            if (healthy(pooled) && reset(pooled)) {
+                HITS.incrementAndGet();
+                break;
+            }
+            UNHEALTHY.incrementAndGet();
+            discard(pooled);
+        }
+        if (pooled == null) {
+            MISSES.incrementAndGet();
+            pooled = createDriver();
+        }
+        if (pooled.trace != null) {
+            pooled.trace.clear();
+        }
+        LEASED.set(pooled);
+        return pooled.driver;
+    }
+
+    // Returns the calling thread's session to the pool, or quits it once it is worn out
+    public static void release() {
+        PooledDriver pooled = LEASED.get();
+        if (pooled == null) {
+            return;
+        }
+        LEASED.remove();
+        if (++pooled.uses >= MAX_USES) {
+            RECYCLED.incrementAndGet();
+            discard(pooled);
+        } else {
+            IDLE.offerFirst(pooled);
+        }
+    }
+
+    // Returns the driver leased by the calling thread, leasing one on first use
+    public static WebDriver driver() {
+        return lease();
+    }
+
+    // Suspends lean-mode request blocking for the calling thread's session until it is released
+    public static void loadAllResources() {
+        lease();
+        LeanProfile lean = LEASED.get().lean;
+        if (lean != null) {
+            lean.setBlocking(false);
+        }
+    }
+
+    // Emulates the given network conditions on the calling thread's session until it is released
+    public static void applyNetworkProfile(NetworkProfile network) {
+        lease();
+        PooledDriver pooled = LEASED.get();
+        pooled.network = network;
+        network.apply(pooled.driver);
+    }
+
+    // Called as each step opens: under an outage profile the calling thread's session goes
+    // offline when the configured outage step (-Dnetwork.outageStep) begins, once per test
+    static void beforeStep(String step) {
+        PooledDriver pooled = LEASED.get();
+        if (pooled != null && pooled.network.hasOutage() && pooled.networkRecovery == null
+                && step.equals(NetworkProfile.OUTAGE_STEP)) {
+            pooled.networkRecovery = pooled.network.startOutage(pooled.driver);
+        }
+    }
+
+    // If a navigation landed on Chrome's offline page during the outage, waits until the network
+    // is back and returns true so the caller can reload; false when there is nothing to recover from
+    public static boolean awaitNetworkRecovery() {
+        PooledDriver pooled = LEASED.get();
+        if (pooled == null || pooled.networkRecovery == null || !NetworkProfile.isOfflineErrorPage(pooled.driver)) {
+            return false;
+        }
+        NetworkProfile.awaitRecovery(pooled.networkRecovery);
+        return true;
+    }
+
+    // Timing label of the calling thread's network conditions, e.g. "3g/"; empty without emulation
+    // and under an outage profile until the outage has started
+    public static String currentNetworkTag() {
+        PooledDriver pooled = LEASED.get();
+        if (pooled == null || pooled.network.hasOutage() && pooled.networkRecovery == null) {
+            return "";
+        }
+        return pooled.network.tag();
+    }
+
+    // Id of the calling thread's leased session, "-" without a lease
+    public static String currentSessionId() {
+        PooledDriver pooled = LEASED.get();
+        return pooled == null ? "-" : pooled.id;
+    }
+
+    // Trace buffer of the calling thread's leased session, or null (no lease or tracing off)
+    public static TraceBuffer currentTrace() {
+        PooledDriver pooled = LEASED.get();
+        return pooled == null ? null : pooled.trace;
+    }
+
+    // Writes the calling thread's session timeline to disk, e.g. after a failure
+    public static void flushTrace(String label) {
+        TraceBuffer trace = currentTrace();
+        if (trace != null) {
+            trace.flush(label);
+        }
+    }
+
+    // Event-driven waits bound to the calling thread's driver
+    public static DomWaits waits() {
+        lease();
+        return LEASED.get().waits;
+    }
+
+    // Quits every session and prints pool statistics
+    public static void quitAll() {
+        PooledDriver pooled;
+        while ((pooled = ALL_DRIVERS.poll()) != null) {
+            quit(pooled);
+        }
+        IDLE.clear();
+        printSummary();
+    }
+
+    private static PooledDriver createDriver() {
+        StepLog.info("Starting {} for {}", TestConfig.gridUrl() == null ? "ChromeDriver" : "Grid session",
+                Thread.currentThread().getName());
+        long start = System.nanoTime();
+
+        // Decorated so every command is timed for the step latency report and the trace,
+        // and navigations clear the element cache
+        DriverProvisioner.Session session = startBrowser();
+        WebDriver browser = session.driver();
+        ElementCache cache = new ElementCache();
+        TraceBuffer trace = TraceBuffer.create(browser);
+        WebDriver driver = new EventFiringDecorator<WebDriver>(new DriverEventListener(cache, trace)).decorate(browser);
+        if (!LeanProfile.enabled()) {
+            // Lean sessions keep the fixed headless window size instead
+            driver.manage().window().maximize();
+        }
+
+        // No implicit wait: DomWaits handles waiting, so absence checks return immediately
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.manage().timeouts().scriptTimeout(DomWaits.SCRIPT_TIMEOUT);
+
+        STARTUP.recordNanos(System.nanoTime() - start);
+        PooledDriver pooled = new PooledDriver(driver, cache, LeanProfile.attach(driver), trace, session.profileDir());
+        ALL_DRIVERS.add(pooled);
+        return pooled;
+    }
+
+    // Local Chrome from the pinned, cached binaries, or a Grid session augmented so DevTools features still work
+    private static DriverProvisioner.Session startBrowser() {
+        String grid = TestConfig.gridUrl();
+        if (grid == null) {
+            return DriverProvisioner.start(LeanProfile.chromeOptions());
+        }
+        try {
+            return new DriverProvisioner.Session(
+                    new Augmenter().augment(new RemoteWebDriver(URI.create(grid).toURL(), LeanProfile.chromeOptions())), null);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid Selenium Grid URL: " + grid, e);
+        }
+    }
+
+    private static boolean healthy(PooledDriver pooled) {
+        try {
+            pooled.driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    // Clears cookies and storage of the page left open by the previous test, then parks on about:blank.
+    // Lean-mode blocking lifted by the previous test is switched back on and network emulation is removed.
+    private static boolean reset(PooledDriver pooled) {
+        try {
+            if (pooled.network != NetworkProfile.NONE) {
+                NetworkProfile.clear(pooled.driver, pooled.networkRecovery);
+                pooled.network = NetworkProfile.NONE;
+                pooled.networkRecovery = null;
+            }
+            if (pooled.lean != null) {
+                pooled.lean.setBlocking(true);
+            }
+            pooled.driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) pooled.driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            pooled.driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private static void discard(PooledDriver pooled) {
+        ALL_DRIVERS.remove(pooled);
+        quit(pooled);
+    }
+
+    private static void quit(PooledDriver pooled) {
+        try {
+            pooled.driver.quit();
+        } catch (RuntimeException e) {
+            StepLog.warn("Failed to quit driver: {}", e.getMessage());
+        }
+        DriverProvisioner.deleteProfile(pooled.profileDir);
+    }
+
+    private static void printSummary() {
+        int hits = HITS.get();
+        int misses = MISSES.get();
+        System.out.println("[POOL] Leases: " + (hits + misses) + " (hits " + hits + ", misses " + misses
+                + "), recycled " + RECYCLED.get() + ", unhealthy " + UNHEALTHY.get() + " ⚙️");
+        System.out.println("[POOL] Browser startup: " + STARTUP.count() + " starts, p50 "
+                + STARTUP.percentileMicros(50) / 1000 + " ms, p95 " + STARTUP.percentileMicros(95) / 1000
+                + " ms, max " + STARTUP.maxMicros() / 1000 + " ms ⚙️");
+        DriverProvisioner.printSummary();
+    }
+}
@@ -0,0 +1,324 @@
+package TestNG;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+// Local Chrome sessions without runtime driver resolution. The chromedriver (and optionally
+// the Chrome binary) are pinned in a lock file and served from a local cache directory, so
+// a cold start needs no network. A trimmed Chrome profile is prepared once as a template and
+// copied for each session. Every startup phase is timed:
+//   resolve (once per JVM), profile (template copy), spawn (chromedriver process),
+//   session (Chrome launch + new session), first command.
+// The first run without a pinned driver (or any run with -Ddrivers.download=true) downloads
+// chromedriver into the cache with WebDriverManager and writes the lock file; later runs
+// start offline from the pin. The lock holds machine-specific paths and is not committed.
+// With -Ddrivers.runtimeResolve=true an unpinned driver is left to Selenium Manager instead.
+// Profile copies left behind by killed runs are removed when the binaries are resolved.
+// Settings: -Ddrivers.cache (default ~/.cache/sqa-drivers), -Ddrivers.lock (default drivers.lock),
+//           -Ddrivers.download=true (re-pin), -Dchromedriver.path / -Dchrome.binary (explicit overrides),
+//           -Ddrivers.runtimeResolve=true (let Selenium Manager resolve an unpinned driver),
+//           -Dprofile.template=false (plain temporary profiles)
+public final class DriverProvisioner {
+
+    private static final Path CACHE = Paths.get(System.getProperty("drivers.cache",
+            Paths.get(System.getProperty("user.home"), ".cache", "sqa-drivers").toString()));
+    private static final Path LOCK = Paths.get(System.getProperty("drivers.lock", "drivers.lock"));
+    private static final boolean DOWNLOAD = Boolean.getBoolean("drivers.download");
+    private static final boolean RUNTIME_RESOLVE = Boolean.getBoolean("drivers.runtimeResolve");
+    private static final boolean PROFILE_TEMPLATE = Boolean.parseBoolean(System.getProperty("profile.template", "true"));
+
+    // Bump when the template contents change so cached templates are rebuilt
+    private static final String TEMPLATE_VERSION = "1";
+    private static final Path TEMPLATE = CACHE.resolve("profile-template");
+    private static final Path SESSIONS = CACHE.resolve("sessions");
+
+    // Profile copies older than this are leftovers; younger ones may belong to another JVM
+    // (e.g. a parallel shard) sharing the cache
+    private static final Duration STALE_PROFILE = Duration.ofHours(6);
+
+    // Preferences that keep first-run, sign-in, sync, translate and password prompts out of the way
+    private static final String PREFERENCES = """
+            {
+              "browser": {"check_default_browser": false, "has_seen_welcome_page": true},
+              "credentials_enable_service": false,
+              "profile": {"password_manager_enabled": false, "default_content_setting_values": {"notifications": 2}},
+              "translate": {"enabled": false},
+              "signin": {"allowed": false},
+              "sync": {"requested": false},
+              "safebrowsing": {"enabled": false},
+              "download": {"prompt_for_download": false}
+            }
+            """;
+
+    // Session startup phases, in order
+    public enum Phase {
+        RESOLVE, PROFILE, SPAWN, SESSION, FIRST_COMMAND
+    }
+
+    private static final LatencyHistogram[] PHASES = {
+            new LatencyHistogram(), new LatencyHistogram(), new LatencyHistogram(), new LatencyHistogram(), new LatencyHistogram()};
+
+    // A started browser and the profile copy it owns (null without the template)
+    public record Session(WebDriver driver, Path profileDir) {
+    }
+
+    // Pinned binaries; driver null when nothing is pinned and -Ddrivers.runtimeResolve allows Selenium Manager
+    private record Binaries(Path driver, Path browser, String version) {
+    }
+
+    private static Binaries binaries;
+
+    private DriverProvisioner() {
+    }
+
+    // Starts a local Chrome session from the pinned binaries and a fresh copy of the profile template
+    public static Session start(ChromeOptions options) {
+        Binaries pinned = resolve();
+
+        long start = System.nanoTime();
+        Path profileDir = null;
+        if (PROFILE_TEMPLATE) {
+            profileDir = copyTemplate();
+            options.addArguments("--user-data-dir=" + profileDir.toAbsolutePath());
+        }
+        record(Phase.PROFILE, start);
+
+        if (pinned.browser() != null) {
+            options.setBinary(pinned.browser().toFile());
+        }
+        ChromeDriverService.Builder builder = new ChromeDriverService.Builder().usingAnyFreePort();
+        if (pinned.driver() != null) {
+            builder.usingDriverExecutable(pinned.driver().toFile());
+        }
+        ChromeDriverService service = builder.build();
+
+        WebDriver driver;
+        try {
+            // Started here only to time the process spawn; ChromeDriver reuses the running service.
+            // Without a pinned driver the spawn is part of the session phase.
+            if (pinned.driver() != null) {
+                start = System.nanoTime();
+                service.start();
+                record(Phase.SPAWN, start);
+            }
+
+            start = System.nanoTime();
+            driver = new ChromeDriver(service, options);
+            record(Phase.SESSION, start);
+        } catch (IOException e) {
+            deleteProfile(profileDir);
+            throw new UncheckedIOException("Could not start chromedriver " + pinned.driver(), e);
+        } catch (RuntimeException e) {
+            service.stop();
+            deleteProfile(profileDir);
+            throw e;
+        }
+
+        start = System.nanoTime();
+        driver.getWindowHandle();
+        record(Phase.FIRST_COMMAND, start);
+        return new Session(driver, profileDir);
+    }
+
+    // Removes a session's profile copy once its browser has quit
+    public static void deleteProfile(Path profileDir) {
+        if (profileDir == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(profileDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            StepLog.warn("Failed to delete profile {}: {}", profileDir, e.getMessage());
+        }
+    }
+
+    // Resolves the binaries once per JVM: explicit paths, then the lock file, then a download
+    // (requested, or first run without a pin)
+    private static synchronized Binaries resolve() {
+        if (binaries != null) {
+            return binaries;
+        }
+        long start = System.nanoTime();
+        deleteStaleProfiles();
+        Properties lock = readLock();
+        // Explicit overrides are taken as given, lock file paths are relative to the cache directory
+        String driverPath = System.getProperty("chromedriver.path", cachePath(lock.getProperty("chromedriver.path")));
+        String browserPath = System.getProperty("chrome.binary", cachePath(lock.getProperty("chrome.binary")));
+        String version = lock.getProperty("chromedriver.version");
+
+        boolean unpinned = driverPath == null || driverPath.isBlank();
+        if ((DOWNLOAD || unpinned && !RUNTIME_RESOLVE) && System.getProperty("chromedriver.path") == null) {
+            WebDriverManager manager = WebDriverManager.chromedriver().cachePath(CACHE.toString());
+            if (version != null) {
+                manager.driverVersion(version);
+            }
+            try {
+                manager.setup();
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Could not download chromedriver to pin it in " + LOCK + "; pass"
+                        + " -Dchromedriver.path, or -Ddrivers.runtimeResolve=true to let Selenium Manager resolve it", e);
+            }
+            driverPath = manager.getDownloadedDriverPath();
+            version = manager.getDownloadedDriverVersion();
+            if (browserPath == null) {
+                browserPath = manager.getBrowserPath().map(Path::toString).orElse(null);
+            }
+            writeLock(driverPath, browserPath, version);
+        }
+
+        Path driver = existing(driverPath, "chromedriver");
+        Path browser = existing(browserPath, "Chrome binary");
+        if (driver == null) {
+            StepLog.warn("No pinned chromedriver, Selenium Manager will resolve one at runtime");
+        } else {
+            StepLog.info("Using pinned chromedriver {} {}{}", version == null ? "" : version, driver,
+                    browser == null ? "" : " with Chrome " + browser);
+        }
+        binaries = new Binaries(driver, browser, version);
+        record(Phase.RESOLVE, start);
+        return binaries;
+    }
+
+    // Removes session profile copies left behind by runs that did not quit their browsers
+    private static void deleteStaleProfiles() {
+        if (!Files.isDirectory(SESSIONS)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(STALE_PROFILE);
+        int deleted = 0;
+        try (DirectoryStream<Path> profiles = Files.newDirectoryStream(SESSIONS, "profile-*")) {
+            for (Path profile : profiles) {
+                if (Files.getLastModifiedTime(profile).toInstant().isBefore(cutoff)) {
+                    deleteProfile(profile);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            StepLog.warn("Failed to clean up stale profiles in {}: {}", SESSIONS, e.getMessage());
+        }
+        if (deleted > 0) {
+            StepLog.info("Removed {} stale profile copies from {}", deleted, SESSIONS);
+        }
+    }
+
+    private static String cachePath(String path) {
+        return path == null || path.isBlank() ? null : CACHE.resolve(path).toString();
+    }
+
+    private static Path existing(String path, String what) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        Path resolved = Paths.get(path);
+        if (!Files.isRegularFile(resolved)) {
+            throw new IllegalStateException(what + " " + resolved + " not found; populate " + CACHE
+                    + " with -Ddrivers.download=true or fix " + LOCK);
+        }
+        return resolved;
+    }
+
+    private static Properties readLock() {
+        Properties lock = new Properties();
+        if (Files.exists(LOCK)) {
+            try (Reader reader = Files.newBufferedReader(LOCK, StandardCharsets.UTF_8)) {
+                lock.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + LOCK, e);
+            }
+        }
+        return lock;
+    }
+
+    private static void writeLock(String driverPath, String browserPath, String version) {
+        Properties lock = new Properties();
+        Path driver = Paths.get(driverPath).toAbsolutePath();
+        Path cache = CACHE.toAbsolutePath();
+        lock.setProperty("chromedriver.path", (driver.startsWith(cache) ? cache.relativize(driver) : driver).toString());
+        lock.setProperty("chromedriver.version", version);
+        if (browserPath != null) {
+            lock.setProperty("chrome.binary", browserPath);
+        }
+        try (Writer writer = Files.newBufferedWriter(LOCK, StandardCharsets.UTF_8)) {
+            lock.store(writer, "Pinned browser and driver for offline runs (-Ddrivers.download=true rewrites this file)");
+            StepLog.info("Pinned chromedriver {} in {}", version, LOCK);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + LOCK, e);
+        }
+    }
+
+    // A fresh copy of the template; the template itself is written once per cache directory
+    private static Path copyTemplate() {
+        try {
+            prepareTemplate();
+            Files.createDirectories(SESSIONS);
+            Path target = Files.createTempDirectory(SESSIONS, "profile-");
+            Files.walkFileTree(TEMPLATE, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    Files.createDirectories(target.resolve(TEMPLATE.relativize(dir).toString()));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.copy(file, target.resolve(TEMPLATE.relativize(file).toString()));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not copy Chrome profile template " + TEMPLATE, e);
+        }
+    }
+
+    private static synchronized void prepareTemplate() throws IOException {
+        Path marker = TEMPLATE.resolve(".template-version");
+        if (Files.exists(marker) && TEMPLATE_VERSION.equals(Files.readString(marker).trim())) {
+            return;
+        }
+        Files.createDirectories(TEMPLATE.resolve("Default"));
+        Files.writeString(TEMPLATE.resolve("First Run"), "");
+        Files.writeString(TEMPLATE.resolve("Default").resolve("Preferences"), PREFERENCES, StandardCharsets.UTF_8);
+        Files.writeString(TEMPLATE.resolve("Local State"), "{\"browser\": {\"enabled_labs_experiments\": []}}",
+                StandardCharsets.UTF_8);
+        Files.writeString(marker, TEMPLATE_VERSION);
+        StepLog.info("Prepared Chrome profile template {}", TEMPLATE);
+    }
+
+    private static void record(Phase phase, long startNanos) {
+        PHASES[phase.ordinal()].recordNanos(System.nanoTime() - startNanos);
+    }
+
+    // Startup phase figures, printed with the pool statistics
+    public static void printSummary() {
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram histogram = PHASES[phase.ordinal()];
+            if (histogram.count() > 0) {
+                System.out.println("[POOL]   " + phase + ": " + histogram.count() + " x, p50 "
+                        + histogram.percentileMicros(50) / 1000 + " ms, p95 " + histogram.percentileMicros(95) / 1000
+                        + " ms, max " + histogram.maxMicros() / 1000 + " ms ⚙️");
+            }
+        }
+    }
+}
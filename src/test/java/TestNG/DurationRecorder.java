@@ -0,0 +1,101 @@
+package TestNG;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Records how long each test method took (all data-provider invocations summed) and folds
+// it into a history file as an exponentially weighted moving average, which ShardPlanner
+// uses to balance shards. Methods run under a network profile are kept apart per profile
+// ("3g/TestNG.SauceDemoTests.checkout..."), since a throttled run takes far longer.
+// Shard JVMs update the same file, so writes hold a file lock. The file is local history
+// (kept across mvn clean) and ignored by git.
+// Settings: -Dshards.history (default test-durations.json), -Dshards.alpha (EWMA weight, default 0.3)
+public class DurationRecorder implements ITestListener, ISuiteListener {
+
+    static final Path HISTORY = Paths.get(System.getProperty("shards.history", "test-durations.json"));
+    private static final double ALPHA = Double.parseDouble(System.getProperty("shards.alpha", "0.3"));
+
+    private final Map<String, LongAdder> observed = new ConcurrentHashMap<>();
+
+    // Fully qualified method name, as accepted by TestNG's -methods option, prefixed with the
+    // network profile of the instance (e.g. "3g/"), if any
+    static String key(ITestResult result) {
+        return profileOf(result).tag() + result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+    }
+
+    // Network profile the @Factory created this test instance for, NONE for other classes
+    private static NetworkProfile profileOf(ITestResult result) {
+        for (Object parameter : result.getFactoryParameters()) {
+            if (parameter instanceof NetworkProfile profile) {
+                return profile;
+            }
+        }
+        return NetworkProfile.NONE;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    private void record(ITestResult result) {
+        observed.computeIfAbsent(key(result), k -> new LongAdder()).add(result.getEndMillis() - result.getStartMillis());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (observed.isEmpty()) {
+            return;
+        }
+        try {
+            HistoryFile.update(HISTORY, history -> {
+                for (Map.Entry<String, LongAdder> entry : observed.entrySet()) {
+                    long millis = entry.getValue().sum();
+                    Map<String, Object> previous = history.get(entry.getKey());
+                    double ewma = previous == null ? millis
+                            : ALPHA * millis + (1 - ALPHA) * ((Number) previous.get("ewmaMs")).doubleValue();
+                    long runs = previous == null ? 1 : ((Number) previous.get("runs")).longValue() + 1;
+                    history.put(entry.getKey(), Map.of("ewmaMs", Math.round(ewma), "lastMs", millis, "runs", runs));
+                }
+            });
+            System.out.println("[SHARDS] Recorded durations of " + observed.size() + " test methods in " + HISTORY + " 📊");
+        } catch (IOException e) {
+            StepLog.warn("Failed to update duration history: {}", e.getMessage());
+        }
+    }
+
+    // Expected duration in ms per fully qualified test method under the selected network
+    // profiles (a shard runs every profile instance of its methods), from the history file
+    static Map<String, Long> load() {
+        List<String> tags = NetworkProfile.selected().stream().map(NetworkProfile::tag).toList();
+        Map<String, Long> expected = new TreeMap<>();
+        for (Map.Entry<String, Map<String, Object>> entry : HistoryFile.read(HISTORY).entrySet()) {
+            int slash = entry.getKey().indexOf('/');
+            String tag = slash < 0 ? "" : entry.getKey().substring(0, slash + 1);
+            if (tags.contains(tag)) {
+                expected.merge(entry.getKey().substring(tag.length()),
+                        ((Number) entry.getValue().get("ewmaMs")).longValue(), Long::sum);
+            }
+        }
+        if (expected.isEmpty()) {
+            StepLog.info("No duration history at {} yet", HISTORY);
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,137 @@
+package TestNG;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Element handles found on the current page, keyed by locator. Repeated lookups on the same
+// page reuse the handle instead of another round trip. The cache is cleared whenever the
+// driver navigates and after every click or submit, which may replace the document (see
+// DriverEventListener); any other page change shows up as a stale element, which clears
+// the cache and transparently re-finds the element once.
+// Handles implement the same interfaces as the found element (Locatable, TakesScreenshot,
+// ...); APIs that serialize the element itself, such as Actions, need unwrap(element).
+// One cache per browser session, used by one thread at a time.
+public final class ElementCache {
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder NAVIGATIONS = new LongAdder();
+    private static final LongAdder STALE = new LongAdder();
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+
+    // Cached handle for the locator, or the result of the lookup, cached for the current page
+    public WebElement get(By locator, Supplier<WebElement> lookup) {
+        WebElement cached = elements.get(locator);
+        if (cached != null) {
+            HITS.increment();
+            return cached;
+        }
+        MISSES.increment();
+        WebElement element = lookup.get();
+        CachedElement cached = new CachedElement(locator, element, lookup);
+        WebElement handle;
+        try {
+            handle = (WebElement) Proxy.newProxyInstance(ElementCache.class.getClassLoader(), interfacesOf(element), cached);
+        } catch (IllegalArgumentException e) {
+            // An interface not visible from this class loader; fall back to the plain element interfaces
+            handle = (WebElement) Proxy.newProxyInstance(ElementCache.class.getClassLoader(),
+                    new Class<?>[]{WebElement.class, WrapsElement.class}, cached);
+        }
+        elements.put(locator, handle);
+        return handle;
+    }
+
+    // The element behind a cached handle (any other element is returned as is), for Actions,
+    // Locatable coordinates and other APIs that need the driver's own element
+    public static WebElement unwrap(WebElement element) {
+        if (Proxy.isProxyClass(element.getClass())
+                && Proxy.getInvocationHandler(element) instanceof ElementCache.CachedElement cached) {
+            return cached.element;
+        }
+        return element;
+    }
+
+    // WebElement, WrapsElement and every public interface of the found element
+    private static Class<?>[] interfacesOf(WebElement element) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        interfaces.add(WebElement.class);
+        interfaces.add(WrapsElement.class);
+        for (Class<?> type = element.getClass(); type != null; type = type.getSuperclass()) {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Modifier.isPublic(candidate.getModifiers())) {
+                    interfaces.add(candidate);
+                }
+            }
+        }
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    // The page changed: every cached handle belongs to the old document
+    void clear() {
+        if (!elements.isEmpty()) {
+            NAVIGATIONS.increment();
+            elements.clear();
+        }
+    }
+
+    // Delegates to the found element; on a stale reference the page is gone, so the cache is
+    // cleared and the element found again on the new page
+    private final class CachedElement implements InvocationHandler {
+        private final By locator;
+        private final Supplier<WebElement> lookup;
+        private WebElement element;
+
+        CachedElement(By locator, WebElement element, Supplier<WebElement> lookup) {
+            this.locator = locator;
+            this.element = element;
+            this.lookup = lookup;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("getWrappedElement")) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+                STALE.increment();
+                elements.clear();
+                element = lookup.get();
+                elements.put(locator, (WebElement) proxy);
+                try {
+                    return method.invoke(element, args);
+                } catch (InvocationTargetException retry) {
+                    throw retry.getCause();
+                }
+            }
+        }
+    }
+
+    // Prints how many lookups the cache answered and how often it was invalidated
+    public static void printSummary() {
+        long hits = HITS.sum();
+        long lookups = hits + MISSES.sum();
+        System.out.println("[CACHE] Element lookups: " + lookups + ", hits " + hits + " ("
+                + (lookups == 0 ? 0 : hits * 100 / lookups) + "%, round trips saved), cleared on navigation "
+                + NAVIGATIONS.sum() + ", stale re-finds " + STALE.sum() + " 🗂️");
+    }
+}
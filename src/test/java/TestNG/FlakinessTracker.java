@@ -0,0 +1,158 @@
+package TestNG;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Attaches TransientRetryAnalyzer to every @Test and keeps per-method flakiness statistics
+// across runs: each run of a method is a pass, a flaky pass (passed after a retry) or a
+// failure. Methods whose recent flaky rate stays above the threshold are flagged, together
+// with the step (helper method) that failed transiently most often. Methods run under a
+// network profile are tracked per profile (keys as in DurationRecorder, e.g. "lossy/TestNG...").
+// The history file is local (kept across mvn clean) and ignored by git.
+// Settings: -Dflaky.history (default flakiness.json), -Dflaky.window (recent runs, default 20),
+//           -Dflaky.threshold (flaky rate to flag, default 0.2), -Dflaky.minRuns (default 5)
+public class FlakinessTracker implements IAnnotationTransformer, ITestListener, ISuiteListener {
+
+    private static final Path HISTORY = Paths.get(System.getProperty("flaky.history", "flakiness.json"));
+    private static final int WINDOW = Integer.getInteger("flaky.window", 20);
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("flaky.threshold", "0.2"));
+    private static final int MIN_RUNS = Integer.getInteger("flaky.minRuns", 5);
+
+    // Outcome letters in the recent-runs string
+    private static final char PASS = 'P';
+    private static final char FLAKY = 'R';
+    private static final char FAIL = 'F';
+
+    // Retries seen so far per invocation, and the outcome letters and failed steps of this run per method
+    private final Map<String, Integer> retries = new ConcurrentHashMap<>();
+    private final Map<String, StringBuffer> outcomes = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Integer>> failedSteps = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        annotation.setRetryAnalyzer(TransientRetryAnalyzer.class);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        if (result.wasRetried()) {
+            retries.merge(invocation(result), 1, Integer::sum);
+            String step = failedStep(result);
+            failedSteps.computeIfAbsent(DurationRecorder.key(result), k -> new ConcurrentHashMap<>())
+                    .merge(step, 1, Integer::sum);
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        boolean retried = retries.remove(invocation(result)) != null;
+        outcome(result, retried ? FLAKY : PASS);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        retries.remove(invocation(result));
+        outcome(result, FAIL);
+    }
+
+    private void outcome(ITestResult result, char outcome) {
+        outcomes.computeIfAbsent(DurationRecorder.key(result), k -> new StringBuffer()).append(outcome);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        List<String> flagged = new ArrayList<>();
+        try {
+            HistoryFile.update(HISTORY, history -> {
+                for (Map.Entry<String, StringBuffer> entry : outcomes.entrySet()) {
+                    flagged.addAll(merge(history, entry.getKey(), entry.getValue().toString()));
+                }
+            });
+        } catch (IOException e) {
+            StepLog.warn("Failed to update flakiness history: {}", e.getMessage());
+        }
+        for (String warning : flagged) {
+            System.out.println("[FLAKY] " + warning + " ⚠️");
+        }
+    }
+
+    // Folds this run's outcomes for one method into its record; returns a warning if it is persistently flaky
+    @SuppressWarnings("unchecked")
+    private List<String> merge(Map<String, Map<String, Object>> history, String method, String runOutcomes) {
+        Map<String, Object> previous = history.getOrDefault(method, Map.of());
+        String recent = previous.getOrDefault("recent", "") + runOutcomes;
+        recent = recent.substring(Math.max(0, recent.length() - WINDOW));
+
+        Map<String, Object> steps = new LinkedHashMap<>((Map<String, Object>) previous.getOrDefault("failedSteps", Map.of()));
+        failedSteps.getOrDefault(method, Map.of()).forEach((step, count) ->
+                steps.merge(step, count.longValue(), (a, b) -> ((Number) a).longValue() + ((Number) b).longValue()));
+
+        long flakyRuns = recent.chars().filter(c -> c == FLAKY).count();
+        double flakyRate = (double) flakyRuns / recent.length();
+        boolean flaky = recent.length() >= MIN_RUNS && flakyRate >= THRESHOLD;
+
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("runs", ((Number) previous.getOrDefault("runs", 0)).longValue() + runOutcomes.length());
+        record.put("flakyRuns", ((Number) previous.getOrDefault("flakyRuns", 0)).longValue()
+                + runOutcomes.chars().filter(c -> c == FLAKY).count());
+        record.put("failedRuns", ((Number) previous.getOrDefault("failedRuns", 0)).longValue()
+                + runOutcomes.chars().filter(c -> c == FAIL).count());
+        record.put("recent", recent);
+        record.put("recentFlakyRate", flakyRate);
+        record.put("failedSteps", steps);
+        record.put("flaky", flaky);
+        history.put(method, record);
+
+        if (!flaky) {
+            return List.of();
+        }
+        String worstStep = steps.entrySet().stream()
+                .max((a, b) -> Long.compare(((Number) a.getValue()).longValue(), ((Number) b.getValue()).longValue()))
+                .map(Map.Entry::getKey).orElse("unknown");
+        return List.of(String.format(Locale.ROOT, "%s is persistently flaky: %.0f%% of the last %d runs needed a retry,"
+                + " most often in %s", method, flakyRate * 100, recent.length(), worstStep));
+    }
+
+    // One data-provider invocation of a method
+    private static String invocation(ITestResult result) {
+        return DurationRecorder.key(result) + Arrays.deepHashCode(result.getParameters());
+    }
+
+    // Innermost frame of the test class that is not the test method itself, i.e. the failing helper step
+    private static String failedStep(ITestResult result) {
+        Throwable failure = result.getThrowable();
+        if (failure == null) {
+            return "unknown";
+        }
+        String testClass = result.getTestClass().getName();
+        String testMethod = result.getMethod().getMethodName();
+        for (StackTraceElement frame : failure.getStackTrace()) {
+            if (frame.getClassName().equals(testClass) && !frame.getMethodName().equals(testMethod)
+                    && !frame.getMethodName().startsWith("lambda$")) {
+                return frame.getMethodName();
+            }
+        }
+        return testMethod;
+    }
+}
@@ -0,0 +1,13 @@
+package TestNG;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a test whose checks need images, fonts or media (e.g. .inventory_item_img presence);
+// lean-mode request blocking is suspended while it runs
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface FullResources {
+}
@@ -0,0 +1,70 @@
+package TestNG;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+// JSON file of per-test-method records kept across runs ({"TestNG.Class.method": {...}}).
+// Updates hold an exclusive file lock, so parallel shard JVMs can share one file.
+final class HistoryFile {
+
+    private HistoryFile() {
+    }
+
+    // Current records, empty when the file does not exist yet
+    static Map<String, Map<String, Object>> read(Path file) {
+        if (!Files.exists(file)) {
+            return new TreeMap<>();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(file, channel);
+        } catch (IOException e) {
+            StepLog.warn("Failed to read {}: {}", file, e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+
+    // Reads, lets the caller modify the records and writes them back, all under the file lock
+    static void update(Path file, Consumer<Map<String, Map<String, Object>>> change) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            Map<String, Map<String, Object>> records = read(file, channel);
+            change.accept(records);
+            byte[] json = new Json().toJson(records).getBytes(StandardCharsets.UTF_8);
+            channel.truncate(0);
+            channel.write(ByteBuffer.wrap(json), 0);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> read(Path file, FileChannel channel) throws IOException {
+        Map<String, Map<String, Object>> records = new TreeMap<>();
+        if (channel.size() == 0) {
+            return records;
+        }
+        // Not closed: closing the stream would close the (possibly locked) channel
+        String json = new String(Channels.newInputStream(channel.position(0)).readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            Map<String, Object> saved = new Json().toType(json, Json.MAP_TYPE);
+            for (Map.Entry<String, Object> entry : saved.entrySet()) {
+                records.put(entry.getKey(), (Map<String, Object>) entry.getValue());
+            }
+        } catch (JsonException | ClassCastException e) {
+            StepLog.warn("Unreadable history file {}, starting over", file);
+        }
+        return records;
+    }
+}
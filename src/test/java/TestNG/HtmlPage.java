@@ -0,0 +1,56 @@
+package TestNG;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+
+import java.util.List;
+
+// A parsed page of the HTML tier. Lookups take the same Selenium By locators as the
+// browser tests and evaluate them with jsoup (CSS selectors and XPath).
+public final class HtmlPage {
+
+    private final String url;
+    private final Document document;
+
+    HtmlPage(String url, Document document) {
+        this.url = url;
+        this.document = document;
+    }
+
+    public String url() {
+        return url;
+    }
+
+    // Text of the first match, like WebElement.getText(); throws if nothing matches
+    public String text(By locator) {
+        return find(document, locator).text();
+    }
+
+    // All elements matching the locator
+    public List<Element> findAll(By locator) {
+        return select(document, locator);
+    }
+
+    // First match of the locator inside the given element
+    public static Element find(Element root, By locator) {
+        Elements matches = select(root, locator);
+        if (matches.isEmpty()) {
+            throw new NoSuchElementException("No element found for " + locator);
+        }
+        return matches.first();
+    }
+
+    private static Elements select(Element root, By locator) {
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        return switch (parameters.using()) {
+            case "css selector" -> root.select(value);
+            case "xpath" -> root.selectXpath(value);
+            case "tag name" -> root.getElementsByTag(value);
+            default -> throw new IllegalArgumentException("Locator not supported without a browser: " + locator);
+        };
+    }
+}
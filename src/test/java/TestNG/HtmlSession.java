@@ -0,0 +1,80 @@
+package TestNG;
+
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.StringJoiner;
+
+// Browserless client for the HTML verification tier: fetches pages over plain HTTP with
+// a cookie jar and parses them with jsoup. Logging in and filling the cart set the same
+// cookies the app's JavaScript would, so server-rendered pages match the browser's.
+// Thread-safe; one session can be shared by many concurrent page fetches.
+public final class HtmlSession {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI baseUri;
+    private final CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+    private final HttpClient client;
+
+    public HtmlSession(String baseUrl) {
+        this.baseUri = URI.create(baseUrl);
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    // Equivalent of a successful UI login: the app keeps the user in a session cookie
+    public HtmlSession login(String username) {
+        setCookie("session-username", username);
+        return this;
+    }
+
+    // Replaces the cart with the given products, stored as the app's "4-0" cookie
+    public HtmlSession cart(SauceDemoCatalog.Product... products) {
+        StringJoiner ids = new StringJoiner("-");
+        for (SauceDemoCatalog.Product product : products) {
+            ids.add(String.valueOf(product.id()));
+        }
+        setCookie("cart-contents", ids.toString());
+        return this;
+    }
+
+    // Fetches and parses a page relative to the base URL (e.g. "inventory.html")
+    public HtmlPage get(String page) {
+        URI uri = baseUri.resolve(page);
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(TIMEOUT).GET().build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET " + uri + " returned " + response.statusCode());
+            }
+            String finalUrl = response.uri().toString();
+            return new HtmlPage(finalUrl, Jsoup.parse(response.body(), finalUrl));
+        } catch (IOException e) {
+            throw new UncheckedIOException("GET " + uri + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching " + uri, e);
+        }
+    }
+
+    private void setCookie(String name, String value) {
+        HttpCookie cookie = new HttpCookie(name, value);
+        cookie.setPath("/");
+        // Netscape style, sent as plain name=value like the browser does
+        cookie.setVersion(0);
+        cookies.getCookieStore().add(baseUri, cookie);
+    }
+}
@@ -0,0 +1,132 @@
+package TestNG;
+
+import org.jsoup.nodes.Element;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Browserless tier: content and arithmetic checks (price format, order summary text and
+// totals, completion header) run against server-rendered pages over plain HTTP, using the
+// same locators as SauceDemoTests. Chrome stays in charge of interaction flows only.
+// Runs against the suite's local server, or starts its own when the suite has none.
+// Settings: -Dhtml.pages (pages parsed by the throughput check; the check is skipped unless set)
+@Browserless
+public class HtmlVerificationTests {
+
+    private static final int THROUGHPUT_PAGES = Integer.getInteger("html.pages", 0);
+
+    // The local server always renders US prices
+    private static final OrderSummaryValidator ORDER_SUMMARY =
+            new OrderSummaryValidator(MoneyFormat.US, SauceDemoCatalog.TAX_RATE);
+
+    private LocalSauceDemoServer ownServer;
+    private String baseUrl;
+
+    @BeforeClass
+    public void startServer() {
+        LocalSauceDemoServer server = SuiteListener.localServer();
+        if (server == null) {
+            ownServer = LocalSauceDemoServer.start(0);
+            server = ownServer;
+        }
+        baseUrl = server.baseUrl();
+        StepLog.info("HTML tier using {}", baseUrl);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        if (ownServer != null) {
+            ownServer.stop();
+        }
+    }
+
+    // Price format of every product card (browser equivalent: verifyProductCardContents)
+    @Test
+    public void productPricesAreFormatted() {
+        HtmlPage inventory = new HtmlSession(baseUrl).login("standard_user").get("inventory.html");
+        List<Element> cards = inventory.findAll(Locators.INVENTORY_ITEM);
+        Assert.assertEquals(cards.size(), SauceDemoCatalog.PRODUCTS.size(), "product card count");
+
+        for (Element card : cards) {
+            String name = HtmlPage.find(card, Locators.ITEM_NAME).text();
+            String price = HtmlPage.find(card, Locators.ITEM_PRICE).text();
+            Assert.assertTrue(ORDER_SUMMARY.money().isValid(price), "price format of " + name + ": " + price);
+            Assert.assertEquals(ORDER_SUMMARY.money().parse(price), SauceDemoCatalog.byName(name).priceCents(), "price of " + name);
+        }
+        StepLog.info("{} product prices verified without a browser", cards.size());
+    }
+
+    // Payment/shipping text and total = item total + tax (browser equivalent: verifyOrderSummaryDetails)
+    @Test
+    public void orderSummaryAddsUp() {
+        HtmlPage overview = new HtmlSession(baseUrl).login("standard_user")
+                .cart(SauceDemoCatalog.byIndex(1), SauceDemoCatalog.byIndex(2))
+                .get("checkout-step-two.html");
+        verifyOrderSummary(overview, SauceDemoCatalog.byIndex(1), SauceDemoCatalog.byIndex(2));
+        StepLog.info("Order summary verified without a browser");
+    }
+
+    // Completion header (browser equivalent: verifyOrderCompletion)
+    @Test
+    public void orderCompletionHeader() {
+        HtmlPage complete = new HtmlSession(baseUrl).login("standard_user").get("checkout-complete.html");
+        Assert.assertEquals(complete.text(Locators.COMPLETE_HEADER), "THANK YOU FOR YOUR ORDER");
+        StepLog.info("Completion header verified without a browser");
+    }
+
+    // Runs the order summary check on many pages concurrently and reports pages per second;
+    // a benchmark rather than a check, so it only runs when -Dhtml.pages is given
+    @Test
+    public void orderSummaryThroughput() throws Exception {
+        if (THROUGHPUT_PAGES <= 0) {
+            throw new SkipException("Throughput check runs with -Dhtml.pages=<pages>, e.g. 2000");
+        }
+        HtmlSession session = new HtmlSession(baseUrl).login("standard_user")
+                .cart(SauceDemoCatalog.byIndex(1), SauceDemoCatalog.byIndex(2));
+        AtomicInteger verified = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> pages = new ArrayList<>();
+            for (int i = 0; i < THROUGHPUT_PAGES; i++) {
+                pages.add(executor.submit(() -> {
+                    verifyOrderSummary(session.get("checkout-step-two.html"),
+                            SauceDemoCatalog.byIndex(1), SauceDemoCatalog.byIndex(2));
+                    verified.incrementAndGet();
+                }));
+            }
+            for (Future<?> page : pages) {
+                page.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Assert.assertEquals(verified.get(), THROUGHPUT_PAGES);
+        StepLog.info("HTML tier verified {} pages in {} s ({} pages/s)", THROUGHPUT_PAGES,
+                String.format(Locale.ROOT, "%.2f", seconds), String.format(Locale.ROOT, "%.0f", THROUGHPUT_PAGES / seconds));
+    }
+
+    private static void verifyOrderSummary(HtmlPage overview, SauceDemoCatalog.Product... products) {
+        Assert.assertTrue(overview.text(Locators.PAYMENT_INFO).contains("SauceCard #31337"), "payment information");
+        Assert.assertTrue(overview.text(Locators.SHIPPING_INFO).contains("FREE PONY EXPRESS DELIVERY!"), "shipping information");
+
+        OrderSummaryValidator.Summary summary = ORDER_SUMMARY.parse(overview.text(Locators.ITEM_TOTAL),
+                overview.text(Locators.TAX), overview.text(Locators.TOTAL));
+        long[] expectedPrices = new long[products.length];
+        for (int i = 0; i < products.length; i++) {
+            expectedPrices[i] = products[i].priceCents();
+        }
+        List<String> problems = ORDER_SUMMARY.validate(summary, expectedPrices);
+        Assert.assertTrue(problems.isEmpty(), "order summary: " + problems);
+    }
+}
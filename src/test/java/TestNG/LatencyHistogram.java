@@ -0,0 +1,74 @@
+package TestNG;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free log-linear latency histogram in microseconds: exact below 64 µs, then 32
+// sub-buckets per power of two (about 3% relative error). Recording is a single atomic
+// increment, so it is cheap enough to sit on every step of every test.
+public final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 64;
+    private static final int SUB_BUCKETS = 32;
+    private static final int BUCKETS = LINEAR_BUCKETS + (63 - 6) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(index(micros));
+        count.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long count() {
+        return count.get();
+    }
+
+    public long totalMicros() {
+        return totalMicros.get();
+    }
+
+    public long maxMicros() {
+        return maxMicros.get();
+    }
+
+    // Value at the given percentile (0-100), reported as the bucket's lower bound
+    public long percentileMicros(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(lowerBound(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    static int index(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - 5)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (exponent - 6) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 6;
+        int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - 5);
+    }
+}
@@ -0,0 +1,192 @@
+package TestNG;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// "Lean" browser profile: headless Chrome with a fixed window size, and DevTools network
+// interception that fails image/font/media requests by resource type and analytics
+// requests by URL pattern. Checks that need the real visuals can suspend blocking for
+// one test (see @FullResources). Transferred and blocked requests are counted so the
+// savings are visible per run.
+// Settings: -Dlean=true, -Dlean.window=1366,768, -Dlean.blockTypes=Image,Font,Media,
+//           -Dlean.blockUrls=comma separated URL patterns
+public final class LeanProfile {
+
+    private static final boolean ENABLED = Boolean.getBoolean("lean");
+    private static final String WINDOW_SIZE = System.getProperty("lean.window", "1366,768");
+    private static final List<String> BLOCKED_TYPES = split(System.getProperty("lean.blockTypes", "Image,Font,Media"));
+    private static final List<String> BLOCKED_URLS = split(System.getProperty("lean.blockUrls",
+            "*google-analytics.com*,*googletagmanager.com*,*doubleclick.net*,*optimizely.com*,*segment.io*,*hotjar.com*"));
+
+    private static final Path REPORT = Paths.get("target", "lean-profile.json");
+
+    // Suite-wide traffic statistics
+    private static final LongAdder REQUESTS = new LongAdder();
+    private static final LongAdder BYTES = new LongAdder();
+    private static final Map<String, LongAdder> BYTES_BY_TYPE = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> LOADED_BY_TYPE = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> BLOCKED_BY_TYPE = new ConcurrentHashMap<>();
+
+    private final DevTools devTools;
+
+    // Request id -> resource type, until the request finishes
+    private final Map<String, String> inFlight = new ConcurrentHashMap<>();
+    // Network request ids already counted as blocked when failed through Fetch
+    private final Set<String> failedByFetch = ConcurrentHashMap.newKeySet();
+    private volatile boolean blocking;
+
+    private LeanProfile(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    // Chrome options for new sessions: headless with a fixed window when lean, defaults otherwise
+    public static ChromeOptions chromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        if (ENABLED) {
+            options.addArguments("--headless=new", "--window-size=" + WINDOW_SIZE,
+                    "--disable-extensions", "--mute-audio");
+        }
+        return options;
+    }
+
+    // Installs request blocking and traffic accounting on a new session; null when lean mode is off
+    public static LeanProfile attach(WebDriver driver) {
+        if (!ENABLED) {
+            return null;
+        }
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        LeanProfile profile = new LeanProfile(devTools);
+        profile.listen();
+        profile.setBlocking(true);
+        return profile;
+    }
+
+    // Turns blocking on or off for this session, e.g. around a check that needs images
+    public void setBlocking(boolean enabled) {
+        if (blocking == enabled) {
+            return;
+        }
+        blocking = enabled;
+        devTools.send(new Command<Void>("Network.setBlockedURLs",
+                Map.of("urls", enabled ? BLOCKED_URLS : List.of())));
+        if (enabled) {
+            List<Map<String, Object>> patterns = new ArrayList<>();
+            for (String type : BLOCKED_TYPES) {
+                patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+            }
+            devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+        } else {
+            devTools.send(new Command<Void>("Fetch.disable", Map.of()));
+        }
+    }
+
+    private void listen() {
+        devTools.send(new Command<Void>("Network.enable", Map.of()));
+
+        // Requests matching a blocked resource type are paused here and failed without any traffic
+        devTools.addListener(event("Fetch.requestPaused"), paused -> {
+            count(BLOCKED_BY_TYPE, String.valueOf(paused.get("resourceType")), 1);
+            if (paused.get("networkId") != null) {
+                failedByFetch.add(String.valueOf(paused.get("networkId")));
+            }
+            devTools.send(new Command<Void>("Fetch.failRequest",
+                    Map.of("requestId", paused.get("requestId"), "errorReason", "BlockedByClient")));
+        });
+        devTools.addListener(event("Network.requestWillBeSent"), sent ->
+                inFlight.put(String.valueOf(sent.get("requestId")), String.valueOf(sent.getOrDefault("type", "Other"))));
+        devTools.addListener(event("Network.loadingFinished"), finished -> {
+            String type = inFlight.remove(String.valueOf(finished.get("requestId")));
+            long bytes = ((Number) finished.getOrDefault("encodedDataLength", 0)).longValue();
+            REQUESTS.increment();
+            BYTES.add(bytes);
+            if (type != null) {
+                count(BYTES_BY_TYPE, type, bytes);
+                count(LOADED_BY_TYPE, type, 1);
+            }
+        });
+        // URL-pattern blocks surface as failed loads with a blockedReason; Fetch failures were counted when paused
+        devTools.addListener(event("Network.loadingFailed"), failed -> {
+            String requestId = String.valueOf(failed.get("requestId"));
+            String type = inFlight.remove(requestId);
+            if (failedByFetch.remove(requestId)) {
+                return;
+            }
+            if (failed.get("blockedReason") != null) {
+                count(BLOCKED_BY_TYPE, type == null ? String.valueOf(failed.get("type")) : type, 1);
+            }
+        });
+    }
+
+    // Prints and writes transferred/blocked traffic, estimating bytes saved from the average
+    // size of each resource type whenever it was loaded (e.g. in @FullResources checks)
+    public static void writeReport() {
+        if (!ENABLED) {
+            return;
+        }
+        Map<String, Object> blocked = new TreeMap<>();
+        long blockedTotal = 0;
+        long estimatedSaved = 0;
+        for (Map.Entry<String, LongAdder> entry : BLOCKED_BY_TYPE.entrySet()) {
+            long count = entry.getValue().sum();
+            blockedTotal += count;
+            LongAdder loaded = LOADED_BY_TYPE.get(entry.getKey());
+            long averageBytes = loaded == null || loaded.sum() == 0 ? 0
+                    : BYTES_BY_TYPE.get(entry.getKey()).sum() / loaded.sum();
+            estimatedSaved += count * averageBytes;
+            blocked.put(entry.getKey(), count);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requestsLoaded", REQUESTS.sum());
+        report.put("bytesTransferred", BYTES.sum());
+        report.put("requestsBlocked", blockedTotal);
+        report.put("requestsBlockedByType", blocked);
+        report.put("estimatedBytesSaved", estimatedSaved);
+
+        System.out.println("[LEAN] Loaded " + REQUESTS.sum() + " requests (" + BYTES.sum() / 1024 + " KiB), blocked "
+                + blockedTotal + " " + blocked + ", ~" + estimatedSaved / 1024 + " KiB saved 🪶");
+        try {
+            Files.createDirectories(REPORT.getParent());
+            Files.writeString(REPORT, new Json().toJson(report), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            StepLog.error("Failed to write lean profile report: {}", e.getMessage());
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static void count(Map<String, LongAdder> counters, String key, long amount) {
+        counters.computeIfAbsent(key, k -> new LongAdder()).add(amount);
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : Arrays.stream(value.split(",")).map(String::trim).toList();
+    }
+}
@@ -0,0 +1,224 @@
+package TestNG;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Load mode: replays the SauceDemoTests flow (login, add to cart, cart, checkout,
+// checkout info, finish) at the HTTP level as N concurrent virtual users, one virtual
+// thread each, with ramp-up, think time and a fixed duration. Client-side actions
+// (login, add to cart) are replayed as the cookies the app's JavaScript would set.
+// Reports throughput and latency percentiles per flow step.
+// Runs against an embedded LocalSauceDemoServer unless -Dsaucedemo.baseUrl points elsewhere.
+//
+// mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=TestNG.LoadGenerator \
+//     -Dload.users=200 -Dload.rampUpSec=20 -Dload.durationSec=120 -Dload.thinkMs=500
+public final class LoadGenerator {
+
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    private static final Duration RAMP_UP = Duration.ofSeconds(Long.getLong("load.rampUpSec", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.durationSec", 60));
+    private static final long THINK_MS = Long.getLong("load.thinkMs", 500);
+    private static final Path REPORT_DIR = Paths.get(System.getProperty("load.report.dir", "target/load"));
+
+    // One HTTP step of the flow: page to fetch and a marker the response must contain
+    private record Step(String name, String page, String marker) {
+    }
+
+    private static final List<Step> FLOW = List.of(
+            new Step("openLoginPage", "index.html", "login-button"),
+            new Step("login", "inventory.html", "inventory_list"),
+            new Step("addProductToCart", "inventory.html", "shopping_cart_badge"),
+            new Step("goToCartPage", "cart.html", "cart_item"),
+            new Step("checkout", "checkout-step-one.html", "checkout_info_container"),
+            new Step("fillCheckoutInfo", "checkout-step-two.html", "summary_total_label"),
+            new Step("finishCheckout", "checkout-complete.html", "complete-header"));
+
+    private static final Map<String, LatencyHistogram> LATENCY = new LinkedHashMap<>();
+    private static final Map<String, LongAdder> ERRORS = new LinkedHashMap<>();
+
+    static {
+        for (Step step : FLOW) {
+            LATENCY.put(step.name(), new LatencyHistogram());
+            ERRORS.put(step.name(), new LongAdder());
+        }
+    }
+
+    private static final LongAdder FLOWS = new LongAdder();
+    private static final AtomicInteger ACTIVE_USERS = new AtomicInteger();
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LocalSauceDemoServer server = System.getProperty("saucedemo.baseUrl") == null
+                ? LocalSauceDemoServer.start(TestConfig.localServerPort()) : null;
+        URI base = URI.create(server != null ? server.baseUrl() : TestConfig.baseUrl());
+        System.out.println("[LOAD] " + USERS + " virtual users against " + base + ", ramp-up " + RAMP_UP.toSeconds()
+                + " s, duration " + DURATION.toSeconds() + " s, think time " + THINK_MS + " ms 🚀");
+
+        long start = System.nanoTime();
+        long deadline = start + DURATION.toNanos();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(users)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            for (int user = 0; user < USERS; user++) {
+                long startDelay = RAMP_UP.toNanos() * user / USERS;
+                int id = user;
+                users.submit(() -> runUser(client, base, id, start + startDelay, deadline));
+            }
+            printProgress(start, deadline);
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+        report((System.nanoTime() - start) / 1e9);
+    }
+
+    // One virtual user: waits for its ramp-up slot, then repeats the flow until the deadline
+    private static void runUser(HttpClient client, URI base, int id, long startAt, long deadline) {
+        try {
+            sleepUntil(startAt);
+            ACTIVE_USERS.incrementAndGet();
+            while (System.nanoTime() < deadline) {
+                if (runFlow(client, base, "load_user_" + id)) {
+                    FLOWS.increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ACTIVE_USERS.decrementAndGet();
+        }
+    }
+
+    // Returns true when every step succeeded; a failed step ends the iteration like a broken page would
+    private static boolean runFlow(HttpClient client, URI base, String username) throws InterruptedException {
+        List<SauceDemoCatalog.Product> cart = List.of(SauceDemoCatalog.byIndex(1), SauceDemoCatalog.byIndex(2));
+        for (Step step : FLOW) {
+            String cookies = switch (step.name()) {
+                case "openLoginPage" -> "";
+                case "login" -> "session-username=" + username;
+                default -> "session-username=" + username + "; cart-contents=" + cart.get(0).id() + "-" + cart.get(1).id();
+            };
+            if (!request(client, base.resolve(step.page()), cookies, step)) {
+                return false;
+            }
+            think();
+        }
+        return true;
+    }
+
+    private static boolean request(HttpClient client, URI uri, String cookies, Step step) throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+        if (!cookies.isEmpty()) {
+            request.header("Cookie", cookies);
+        }
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            ok = response.statusCode() == 200 && response.body().contains(step.marker());
+        } catch (IOException e) {
+            ok = false;
+        }
+        LATENCY.get(step.name()).recordNanos(System.nanoTime() - start);
+        if (!ok) {
+            ERRORS.get(step.name()).increment();
+        }
+        return ok;
+    }
+
+    // Think time with +/-50% jitter so users do not move in lockstep
+    private static void think() throws InterruptedException {
+        if (THINK_MS > 0) {
+            Thread.sleep(THINK_MS / 2 + ThreadLocalRandom.current().nextLong(THINK_MS + 1));
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long wait = nanoTime - System.nanoTime();
+        if (wait > 0) {
+            Thread.sleep(Duration.ofNanos(wait));
+        }
+    }
+
+    private static void printProgress(long start, long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            Thread.sleep(Duration.ofNanos(Math.min(remaining, Duration.ofSeconds(5).toNanos())));
+            System.out.println(String.format(Locale.ROOT, "[LOAD] %3.0f s: %d active users, %d flows completed 🚀",
+                    (System.nanoTime() - start) / 1e9, ACTIVE_USERS.get(), FLOWS.sum()));
+        }
+    }
+
+    // Prints and writes throughput and p50/p95/p99/max per step
+    private static void report(double seconds) throws IOException {
+        List<Map<String, Object>> steps = new ArrayList<>();
+        StringBuilder csv = new StringBuilder("step,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms\n");
+        System.out.println(String.format(Locale.ROOT, "[LOAD] %-18s %9s %7s %9s %8s %8s %8s %8s",
+                "step", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, LatencyHistogram> entry : LATENCY.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            long errors = ERRORS.get(entry.getKey()).sum();
+            double throughput = histogram.count() / seconds;
+            double p50 = histogram.percentileMicros(50) / 1000.0;
+            double p95 = histogram.percentileMicros(95) / 1000.0;
+            double p99 = histogram.percentileMicros(99) / 1000.0;
+            double max = histogram.maxMicros() / 1000.0;
+            System.out.println(String.format(Locale.ROOT, "[LOAD] %-18s %9d %7d %9.1f %8.1f %8.1f %8.1f %8.1f",
+                    entry.getKey(), histogram.count(), errors, throughput, p50, p95, p99, max));
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f%n",
+                    entry.getKey(), histogram.count(), errors, throughput, p50, p95, p99, max));
+
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("step", entry.getKey());
+            step.put("requests", histogram.count());
+            step.put("errors", errors);
+            step.put("throughputRps", throughput);
+            step.put("p50_ms", p50);
+            step.put("p95_ms", p95);
+            step.put("p99_ms", p99);
+            step.put("max_ms", max);
+            steps.add(step);
+        }
+        System.out.println(String.format(Locale.ROOT, "[LOAD] %d flows completed in %.0f s (%.1f flows/s) 🚀",
+                FLOWS.sum(), seconds, FLOWS.sum() / seconds));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", USERS);
+        report.put("rampUpSec", RAMP_UP.toSeconds());
+        report.put("durationSec", DURATION.toSeconds());
+        report.put("thinkMs", THINK_MS);
+        report.put("flows", FLOWS.sum());
+        report.put("flowsPerSec", FLOWS.sum() / seconds);
+        report.put("steps", steps);
+        Files.createDirectories(REPORT_DIR);
+        Files.writeString(REPORT_DIR.resolve("load-report.json"), new Json().toJson(report), StandardCharsets.UTF_8);
+        Files.writeString(REPORT_DIR.resolve("load-report.csv"), csv, StandardCharsets.UTF_8);
+        System.out.println("[LOAD] Report written to " + REPORT_DIR + " 📊");
+    }
+}
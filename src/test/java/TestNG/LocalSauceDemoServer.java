@@ -0,0 +1,257 @@
+package TestNG;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Embedded stand-in for https://www.saucedemo.com/v1/ serving the pages the suite touches
+// (login, inventory, cart, both checkout steps and finish) from localhost.
+// Latency and error injection make timeouts reproducible:
+//   -Dlocal.latencyMs, -Dlocal.jitterMs  delay every response
+//   -Dlocal.errorRate                     fraction of page requests answered with 503
+// or programmatically via setLatency / setErrorRate / failNext.
+public final class LocalSauceDemoServer {
+
+    static final String CONTEXT = "/v1/";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, byte[]> staticFiles = new ConcurrentHashMap<>();
+
+    private volatile Duration latency = Duration.ofMillis(Long.getLong("local.latencyMs", 0));
+    private volatile Duration jitter = Duration.ofMillis(Long.getLong("local.jitterMs", 0));
+    private volatile double errorRate = Double.parseDouble(System.getProperty("local.errorRate", "0"));
+    private final AtomicInteger forcedFailures = new AtomicInteger();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private LocalSauceDemoServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    // Starts a server on the given port (0 picks a free one)
+    public static LocalSauceDemoServer start(int port) {
+        try {
+            LocalSauceDemoServer local = new LocalSauceDemoServer(port);
+            local.server.start();
+            StepLog.info("Local SauceDemo running at {}", local.baseUrl());
+            return local;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start local SauceDemo server", e);
+        }
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        StepLog.info("Local SauceDemo stopped after {} requests", requests.get());
+    }
+
+    // Login page URL, usable as the suite's baseURL
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + CONTEXT + "index.html";
+    }
+
+    // Delays every response by latency plus a random amount up to jitter
+    public void setLatency(Duration latency, Duration jitter) {
+        this.latency = latency;
+        this.jitter = jitter;
+    }
+
+    // Fraction (0..1) of page requests answered with 503
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    // Deterministically fails the next n page requests with 503
+    public void failNext(int count) {
+        forcedFailures.set(count);
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            injectLatency();
+
+            String path = exchange.getRequestURI().getPath();
+            if (!path.startsWith(CONTEXT)) {
+                send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            String resource = path.substring(CONTEXT.length());
+
+            if (resource.startsWith("static/")) {
+                sendStatic(exchange, resource);
+            } else if (resource.startsWith("img/")) {
+                send(exchange, 200, "image/png", image(resource));
+            } else {
+                if (injectFailure()) {
+                    send(exchange, 503, "text/plain", "Service unavailable (injected)".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                sendPage(exchange, resource);
+            }
+        }
+    }
+
+    private void sendPage(HttpExchange exchange, String resource) throws IOException {
+        Map<String, String> cookies = cookies(exchange);
+        boolean loggedIn = cookies.containsKey("session-username");
+        List<Integer> cart = cart(cookies.get("cart-contents"));
+
+        String html;
+        switch (resource) {
+            case "", "index.html" -> html = SauceDemoPages.login();
+            case "inventory.html" -> html = loggedIn ? SauceDemoPages.inventory(cart) : null;
+            case "cart.html" -> html = loggedIn ? SauceDemoPages.cart(cart) : null;
+            case "checkout-step-one.html" -> html = loggedIn ? SauceDemoPages.checkoutStepOne(cart) : null;
+            case "checkout-step-two.html" -> html = loggedIn ? SauceDemoPages.checkoutStepTwo(cart) : null;
+            case "checkout-complete.html" -> html = loggedIn ? SauceDemoPages.checkoutComplete(cart) : null;
+            default -> {
+                send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+
+        if (html == null) {
+            // No session: back to the login page, like the real app
+            exchange.getResponseHeaders().add("Location", CONTEXT + "index.html");
+            send(exchange, 302, "text/plain", new byte[0]);
+            return;
+        }
+        send(exchange, 200, "text/html; charset=utf-8", html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void sendStatic(HttpExchange exchange, String resource) throws IOException {
+        byte[] body = staticFiles.computeIfAbsent(resource, LocalSauceDemoServer::loadResource);
+        if (body.length == 0) {
+            send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        String type = resource.endsWith(".js") ? "application/javascript" : "text/css";
+        send(exchange, 200, type + "; charset=utf-8", body);
+    }
+
+    private static byte[] loadResource(String resource) {
+        try (InputStream in = LocalSauceDemoServer.class.getResourceAsStream("/saucedemo/" + resource)) {
+            return in == null ? new byte[0] : in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Generated product image, one flat colour per file name
+    private byte[] image(String resource) {
+        return staticFiles.computeIfAbsent(resource, name -> {
+            BufferedImage image = new BufferedImage(120, 150, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            graphics.setColor(new Color(name.hashCode() | 0xFF000000));
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.dispose();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                ImageIO.write(image, "png", out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        });
+    }
+
+    private void injectLatency() {
+        long delay = latency.toMillis();
+        long maxJitter = jitter.toMillis();
+        if (maxJitter > 0) {
+            delay += ThreadLocalRandom.current().nextLong(maxJitter + 1);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean injectFailure() {
+        if (forcedFailures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            return true;
+        }
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static Map<String, String> cookies(HttpExchange exchange) {
+        Map<String, String> cookies = new HashMap<>();
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", Collections.emptyList())) {
+            for (String pair : header.split(";")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    String value = URLDecoder.decode(pair.substring(eq + 1).trim(), StandardCharsets.UTF_8);
+                    if (!value.isEmpty()) {
+                        cookies.put(pair.substring(0, eq).trim(), value);
+                    }
+                }
+            }
+        }
+        return cookies;
+    }
+
+    // Parses the "4-0-1" cart cookie into product ids, ignoring unknown ids
+    private static List<Integer> cart(String value) {
+        List<Integer> ids = new ArrayList<>();
+        if (value == null) {
+            return ids;
+        }
+        for (String id : value.split("-")) {
+            try {
+                int productId = Integer.parseInt(id.trim());
+                SauceDemoCatalog.byId(productId);
+                if (!ids.contains(productId)) {
+                    ids.add(productId);
+                }
+            } catch (IllegalArgumentException e) {
+                // Unknown or malformed ids are dropped, like the real app does
+            }
+        }
+        return ids;
+    }
+}
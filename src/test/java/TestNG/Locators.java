@@ -0,0 +1,54 @@
+package TestNG;
+
+import org.openqa.selenium.By;
+
+// Locators shared by the browser tests and the browserless HTML tier, so both check
+// exactly the same elements. Defined once per page and kept to ids and short CSS
+// selectors (By.id and By.className are sent as CSS), which browsers match much faster
+// than absolute XPaths and HtmlPage can evaluate without a browser.
+public final class Locators {
+
+    // Login page
+    public static final By USERNAME = By.id("user-name");
+    public static final By PASSWORD = By.id("password");
+    public static final By LOGIN_BUTTON = By.id("login-button");
+
+    // Page titles
+    public static final By PRODUCTS_TITLE = By.className("product_label");
+    public static final By SUBHEADER = By.cssSelector("#contents_wrapper > .subheader");
+    public static final By DEFAULT_TITLE = By.cssSelector(".title");
+
+    // Hamburger menu
+    public static final By MENU_BUTTON = By.id("react-burger-menu-btn");
+    public static final By MENU_ITEMS = By.cssSelector(".bm-item.menu-item");
+    public static final By MENU_CLOSE = By.id("react-burger-cross-btn");
+    public static final By MENU_WRAP = By.className("bm-menu-wrap");
+
+    // Products and cart
+    public static final By INVENTORY_ITEM = By.cssSelector(".inventory_item");
+    public static final By ITEM_NAME = By.cssSelector(".inventory_item_name");
+    public static final By ITEM_PRICE = By.cssSelector(".inventory_item_price");
+    public static final By CART_ITEM = By.cssSelector(".cart_item");
+    public static final By CART_BADGE = By.cssSelector(".shopping_cart_badge");
+    public static final By CART_LINK = By.cssSelector(".shopping_cart_link");
+    // Scoped to the footer: the cart rows' REMOVE buttons are .btn_secondary too and come first
+    public static final By CONTINUE_SHOPPING = By.cssSelector(".cart_footer .btn_secondary");
+    public static final By CHECKOUT_BUTTON = By.cssSelector(".cart_footer .checkout_button");
+
+    // Checkout
+    public static final By FIRST_NAME = By.id("first-name");
+    public static final By LAST_NAME = By.id("last-name");
+    public static final By POSTAL_CODE = By.id("postal-code");
+    public static final By ERROR_MESSAGE = By.cssSelector("[data-test=\"error\"]");
+    public static final By CONTINUE_CHECKOUT = By.cssSelector(".checkout_buttons .cart_button");
+    public static final By PAYMENT_INFO = By.cssSelector(".summary_info > .summary_value_label:nth-child(2)");
+    public static final By SHIPPING_INFO = By.cssSelector(".summary_info > .summary_value_label:nth-child(4)");
+    public static final By ITEM_TOTAL = By.className("summary_subtotal_label");
+    public static final By TAX = By.className("summary_tax_label");
+    public static final By TOTAL = By.className("summary_total_label");
+    public static final By FINISH_BUTTON = By.cssSelector(".cart_footer .cart_button");
+    public static final By COMPLETE_HEADER = By.className("complete-header");
+
+    private Locators() {
+    }
+}
@@ -0,0 +1,271 @@
+package TestNG;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+
+// Exact money amounts as a long number of minor units (cents for USD/EUR). Parses labeled
+// page text such as "Tax: $2.40" or "Summe: 1.234,50 €" in one pass over the characters,
+// without regex, substrings or floating point, and formats amounts back for messages.
+// Instances are immutable and can be shared by all parallel workers.
+// Accepted: [label][spaces][-][symbol][spaces][-]digits[grouping digits][decimal fraction][spaces][symbol]
+// with exactly the currency's fraction digits, grouping in blocks of three, and the symbol
+// on the locale's side (before or after the number) or omitted for parseAmount().
+public final class MoneyFormat {
+
+    // The SauceDemo app: "$1,234.50"
+    public static final MoneyFormat US = of(Locale.US);
+
+    // Returned by the non-throwing path when the text is not a valid amount
+    private static final long INVALID = Long.MIN_VALUE;
+
+    private final String symbol;
+    private final boolean symbolFirst;
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private final int fractionDigits;
+
+    private MoneyFormat(String symbol, boolean symbolFirst, char decimalSeparator, char groupingSeparator,
+                        int fractionDigits) {
+        if (symbol.isEmpty() || fractionDigits < 0 || fractionDigits > 6 || decimalSeparator == groupingSeparator) {
+            throw new IllegalArgumentException("Invalid money format: '" + symbol + "', decimal '" + decimalSeparator
+                    + "', grouping '" + groupingSeparator + "', " + fractionDigits + " fraction digits");
+        }
+        this.symbol = symbol;
+        this.symbolFirst = symbolFirst;
+        this.decimalSeparator = decimalSeparator;
+        this.groupingSeparator = groupingSeparator;
+        this.fractionDigits = fractionDigits;
+    }
+
+    // Symbol, separators, symbol position and fraction digits of the locale's currency, e.g. de-DE -> "1.234,50 €"
+    public static MoneyFormat of(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        String symbol = symbols.getCurrencySymbol();
+        Currency currency = symbols.getCurrency();
+        int fractionDigits = currency == null || currency.getDefaultFractionDigits() < 0
+                ? 2 : currency.getDefaultFractionDigits();
+        NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(locale);
+        boolean symbolFirst = !(currencyFormat instanceof DecimalFormat decimal)
+                || decimal.getPositivePrefix().contains(symbol);
+        return new MoneyFormat(symbol, symbolFirst, symbols.getMonetaryDecimalSeparator(),
+                symbols.getMonetaryGroupingSeparator(), fractionDigits);
+    }
+
+    // Explicit format, for deployments whose text does not follow a JDK locale
+    public static MoneyFormat of(String symbol, boolean symbolFirst, char decimalSeparator, char groupingSeparator,
+                                 int fractionDigits) {
+        return new MoneyFormat(symbol, symbolFirst, decimalSeparator, groupingSeparator, fractionDigits);
+    }
+
+    public int fractionDigits() {
+        return fractionDigits;
+    }
+
+    // "$29.99" -> 2999; the currency symbol is required
+    public long parse(CharSequence text) {
+        return parse(text, "");
+    }
+
+    // "Tax: $2.40" with label "Tax:" -> 240; throws IllegalArgumentException naming the position of the problem
+    public long parse(CharSequence text, String label) {
+        return parse(text, label, true, true);
+    }
+
+    // "29.99" or "$29.99" -> 2999, e.g. for catalog prices stored without a symbol
+    public long parseAmount(CharSequence text) {
+        return parse(text, "", false, true);
+    }
+
+    // True when parse(text) would succeed; never throws
+    public boolean isValid(CharSequence text) {
+        return text != null && parse(text, "", true, false) != INVALID;
+    }
+
+    // True when parseAmount(text) would succeed (symbol optional, e.g. cart rows "29.99"); never throws
+    public boolean isValidAmount(CharSequence text) {
+        return text != null && parse(text, "", false, false) != INVALID;
+    }
+
+    // 123450 -> "$1,234.50" (US) or "1.234,50 €" (de-DE)
+    public String format(long minorUnits) {
+        return appendTo(new StringBuilder(16), minorUnits).toString();
+    }
+
+    public StringBuilder appendTo(StringBuilder out, long minorUnits) {
+        if (minorUnits < 0) {
+            out.append('-');
+        }
+        if (symbolFirst) {
+            out.append(symbol);
+        }
+        long scale = scale();
+        // Unsigned division keeps Long.MIN_VALUE exact
+        long units = Math.abs(minorUnits);
+        long whole = units < 0 ? Long.divideUnsigned(units, scale) : units / scale;
+        long fraction = units < 0 ? Long.remainderUnsigned(units, scale) : units % scale;
+
+        int start = out.length();
+        String digits = Long.toUnsignedString(whole);
+        for (int i = 0; i < digits.length(); i++) {
+            if (i > 0 && (digits.length() - i) % 3 == 0) {
+                out.append(groupingSeparator);
+            }
+            out.append(digits.charAt(i));
+        }
+        if (fractionDigits > 0) {
+            out.append(decimalSeparator);
+            int fractionStart = out.length();
+            out.append(fraction);
+            while (out.length() - fractionStart < fractionDigits) {
+                out.insert(fractionStart, '0');
+            }
+        }
+        if (!symbolFirst) {
+            out.append(out.length() > start ? " " : "").append(symbol);
+        }
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return "MoneyFormat[" + format(123456) + "]";
+    }
+
+    private long scale() {
+        long scale = 1;
+        for (int i = 0; i < fractionDigits; i++) {
+            scale *= 10;
+        }
+        return scale;
+    }
+
+    private long parse(CharSequence text, String label, boolean requireSymbol, boolean throwing) {
+        int length = text.length();
+        if (!regionMatches(text, 0, label)) {
+            return fail(text, 0, "expected '" + label + "'", throwing);
+        }
+        int i = skipSpaces(text, label.length());
+
+        boolean negative = false;
+        if (i < length && text.charAt(i) == '-') {
+            negative = true;
+            i = skipSpaces(text, i + 1);
+        }
+        boolean symbolSeen = false;
+        if (symbolFirst && regionMatches(text, i, symbol)) {
+            symbolSeen = true;
+            i = skipSpaces(text, i + symbol.length());
+            if (!negative && i < length && text.charAt(i) == '-') {
+                negative = true;
+                i++;
+            }
+        }
+
+        long units = 0;
+        int integerDigits = 0;
+        int groupDigits = 0;
+        boolean grouped = false;
+        int fraction = -1;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (fraction >= 0) {
+                    if (fraction == fractionDigits) {
+                        return fail(text, i, "more than " + fractionDigits + " decimals", throwing);
+                    }
+                    fraction++;
+                } else {
+                    integerDigits++;
+                    groupDigits++;
+                }
+                if (units > (Long.MAX_VALUE - (c - '0')) / 10) {
+                    return fail(text, i, "amount too large", throwing);
+                }
+                units = units * 10 + (c - '0');
+            } else if (c == groupingSeparator && fraction < 0 && integerDigits > 0 && digitsAt(text, i + 1, 3)) {
+                // Spaces used as grouping (fr-FR) are only grouping when three digits follow
+                if (grouped ? groupDigits != 3 : groupDigits > 3) {
+                    return fail(text, i, "misplaced grouping separator", throwing);
+                }
+                grouped = true;
+                groupDigits = 0;
+            } else if (c == decimalSeparator && fraction < 0 && fractionDigits > 0) {
+                fraction = 0;
+                if (integerDigits == 0) {
+                    return fail(text, i, "no digits before decimal separator", throwing);
+                }
+            } else {
+                break;
+            }
+        }
+        if (integerDigits == 0) {
+            return fail(text, i, "no amount", throwing);
+        }
+        if (grouped && groupDigits != 3) {
+            return fail(text, i, "misplaced grouping separator", throwing);
+        }
+        if (fractionDigits > 0 && fraction != fractionDigits) {
+            return fail(text, i, "expected " + fractionDigits + " decimals", throwing);
+        }
+
+        i = skipSpaces(text, i);
+        if (!symbolFirst && regionMatches(text, i, symbol)) {
+            symbolSeen = true;
+            i = skipSpaces(text, i + symbol.length());
+        }
+        if (i != length) {
+            return fail(text, i, "unexpected '" + text.charAt(i) + "'", throwing);
+        }
+        if (requireSymbol && !symbolSeen) {
+            return fail(text, i, "missing currency symbol '" + symbol + "'", throwing);
+        }
+        return negative ? -units : units;
+    }
+
+    private static long fail(CharSequence text, int index, String reason, boolean throwing) {
+        if (throwing) {
+            throw new IllegalArgumentException("Invalid amount '" + text + "' at " + index + ": " + reason);
+        }
+        return INVALID;
+    }
+
+    private static boolean regionMatches(CharSequence text, int start, String expected) {
+        if (start + expected.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (text.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean digitsAt(CharSequence text, int start, int count) {
+        if (start + count > text.length()) {
+            return false;
+        }
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Plain, no-break and narrow no-break spaces (the latter two appear in fr-FR/de-CH formats)
+    private static int skipSpaces(CharSequence text, int i) {
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c != ' ' && c != '\u00A0' && c != '\u202F' && c != '\t') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+}
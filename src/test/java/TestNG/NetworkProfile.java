@@ -0,0 +1,192 @@
+package TestNG;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.testng.SkipException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Named network conditions applied to a browser session through DevTools network
+// emulation (Network.emulateNetworkConditions). Chrome throttles inside the browser, so
+// the profiles behave the same against the embedded LocalSauceDemoServer as against the
+// public site. Tests run once per selected profile (see SauceDemoTests' factory) and
+// their steps are timed per profile, e.g. "3g/userLogin". offline-recover starts online and
+// drops offline mid-flow, when a test opens the outage step (see DriverPool.beforeStep), so the
+// navigation that follows fails and the test has to reload once the network is back. Tests that
+// never reach that step run online and are not labeled with the profile.
+// Settings: -Dnetwork.profiles=3g,high-latency,lossy,offline-recover (or "all"; default none),
+//           -Dnetwork.offlineMs (how long offline-recover stays offline, default 3000),
+//           -Dnetwork.outageStep (StepTimer step that starts the outage, default checkout)
+public enum NetworkProfile {
+
+    // No emulation: the network as it is
+    NONE("none", false, 0, -1, -1, 0),
+    // Chrome's "Fast 3G" preset: 562.5 ms RTT, 1.44 Mbit/s down, 675 kbit/s up
+    THREE_G("3g", false, 563, 180_000, 84_375, 0),
+    // Long round trips on an otherwise fast link
+    HIGH_LATENCY("high-latency", false, 1000, -1, -1, 0),
+    // Moderate latency with 10% packet loss
+    LOSSY("lossy", false, 150, 625_000, 312_500, 10),
+    // Online until the outage point, then offline for -Dnetwork.offlineMs
+    OFFLINE_THEN_RECOVER("offline-recover", true, 0, -1, -1, 0);
+
+    private static final long OFFLINE_MS = Long.getLong("network.offlineMs", 3000);
+
+    // Step at which outage profiles go offline
+    static final String OUTAGE_STEP = System.getProperty("network.outageStep", "checkout");
+
+    private static final ScheduledExecutorService RECOVERY = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "network-recovery");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String id;
+    private final boolean offline;
+    private final long latencyMs;
+    // Bytes per second, -1 for unlimited
+    private final long downloadBytesPerSec;
+    private final long uploadBytesPerSec;
+    private final int packetLossPercent;
+
+    NetworkProfile(String id, boolean offline, long latencyMs, long downloadBytesPerSec, long uploadBytesPerSec,
+                   int packetLossPercent) {
+        this.id = id;
+        this.offline = offline;
+        this.latencyMs = latencyMs;
+        this.downloadBytesPerSec = downloadBytesPerSec;
+        this.uploadBytesPerSec = uploadBytesPerSec;
+        this.packetLossPercent = packetLossPercent;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    // Step timing prefix, empty without emulation so existing step names and baselines stay valid
+    public String tag() {
+        return this == NONE ? "" : id + "/";
+    }
+
+    public static NetworkProfile byId(String id) {
+        for (NetworkProfile profile : values()) {
+            if (profile.id.equalsIgnoreCase(id.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown network profile '" + id + "', expected one of "
+                + Arrays.stream(values()).map(NetworkProfile::id).toList());
+    }
+
+    // Profiles requested with -Dnetwork.profiles, [NONE] when unset
+    public static List<NetworkProfile> selected() {
+        String ids = System.getProperty("network.profiles", "none").trim();
+        if (ids.equalsIgnoreCase("all")) {
+            return List.of(values());
+        }
+        List<NetworkProfile> profiles = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (!id.isBlank() && !profiles.contains(byId(id))) {
+                profiles.add(byId(id));
+            }
+        }
+        return profiles.isEmpty() ? List.of(NONE) : profiles;
+    }
+
+    // Applies the conditions to the session; an outage profile stays online until startOutage().
+    // A test cannot run under a profile without DevTools, so it is skipped rather than run unthrottled.
+    public void apply(WebDriver driver) {
+        if (this == NONE) {
+            return;
+        }
+        if (!(driver instanceof HasDevTools hasDevTools)) {
+            throw new SkipException("Network profile " + id + " needs DevTools, not available for this session");
+        }
+        DevTools devTools = hasDevTools.getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(new Command<Void>("Network.enable", Map.of()));
+        emulate(devTools, false, latencyMs, downloadBytesPerSec, uploadBytesPerSec, packetLossPercent);
+        StepLog.info("Network profile {}: {}, latency {} ms, down {}, up {}, loss {}%", id,
+                offline ? "offline for " + OFFLINE_MS + " ms at the outage point" : "online", latencyMs,
+                rate(downloadBytesPerSec), rate(uploadBytesPerSec), packetLossPercent);
+    }
+
+    // True for profiles that take the session offline at the outage point
+    public boolean hasOutage() {
+        return offline;
+    }
+
+    // Takes an applied outage profile offline now; returns the scheduled recovery
+    public ScheduledFuture<?> startOutage(WebDriver driver) {
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        emulate(devTools, true, latencyMs, downloadBytesPerSec, uploadBytesPerSec, packetLossPercent);
+        StepLog.info("Network profile {}: offline for {} ms", id, OFFLINE_MS);
+        return RECOVERY.schedule(() -> {
+            try {
+                emulate(devTools, false, 0, -1, -1, 0);
+                StepLog.info("Network profile {}: back online", id);
+            } catch (RuntimeException e) {
+                StepLog.warn("Failed to restore network for profile {}: {}", id, e.getMessage());
+            }
+        }, OFFLINE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Waits until a started outage is over, at most the offline time plus ten seconds
+    public static void awaitRecovery(ScheduledFuture<?> recovery) {
+        try {
+            recovery.get(OFFLINE_MS + 10_000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Network did not come back online", e);
+        }
+    }
+
+    // Chrome's "no internet" page, shown in place of a navigation that failed offline
+    public static boolean isOfflineErrorPage(WebDriver driver) {
+        Object href = ((JavascriptExecutor) driver).executeScript("return window.location.href");
+        return href != null && href.toString().startsWith("chrome-error://");
+    }
+
+    // Removes any emulation, e.g. before the session is leased to the next test
+    public static void clear(WebDriver driver, ScheduledFuture<?> recovery) {
+        if (recovery != null) {
+            recovery.cancel(false);
+        }
+        if (driver instanceof HasDevTools hasDevTools) {
+            emulate(hasDevTools.getDevTools(), false, 0, -1, -1, 0);
+        }
+    }
+
+    private static void emulate(DevTools devTools, boolean offline, long latencyMs, long download, long upload,
+                                int packetLossPercent) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("offline", offline);
+        params.put("latency", latencyMs);
+        params.put("downloadThroughput", download);
+        params.put("uploadThroughput", upload);
+        if (packetLossPercent > 0) {
+            // Experimental CDP parameter, honoured by recent Chrome versions
+            params.put("packetLoss", packetLossPercent);
+        }
+        devTools.send(new Command<Void>("Network.emulateNetworkConditions", params));
+    }
+
+    private static String rate(long bytesPerSec) {
+        return bytesPerSec < 0 ? "unlimited" : String.format(Locale.ROOT, "%.0f kbit/s", bytesPerSec * 8 / 1000.0);
+    }
+}
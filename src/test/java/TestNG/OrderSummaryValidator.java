@@ -0,0 +1,69 @@
+package TestNG;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Exact checks of a checkout overview: line item prices add up to the item total, tax is the
+// item total times the tax rate rounded half up to the minor unit, and total = item total + tax.
+// All arithmetic is on long minor units from MoneyFormat, so there is no epsilon and no BigDecimal
+// per page. Immutable; one instance serves all parallel workers.
+public final class OrderSummaryValidator {
+
+    // The three amounts of the overview page, in minor units
+    public record Summary(long itemTotal, long tax, long total) {
+    }
+
+    // Tax rate as an exact fraction: rateNumerator / RATE_SCALE (0.08 -> 80000 / 1000000)
+    private static final long RATE_SCALE = 1_000_000;
+
+    private final MoneyFormat money;
+    private final long rateNumerator;
+
+    public OrderSummaryValidator(MoneyFormat money, BigDecimal taxRate) {
+        this.money = money;
+        // Throws ArithmeticException when the rate has more than six decimals
+        this.rateNumerator = taxRate.movePointRight(6).longValueExact();
+    }
+
+    public MoneyFormat money() {
+        return money;
+    }
+
+    // Parses the overview texts, e.g. "Item total: $29.98", "Tax: $2.40", "Total: $32.38"
+    public Summary parse(CharSequence itemTotalText, CharSequence taxText, CharSequence totalText) {
+        return new Summary(money.parse(itemTotalText, "Item total:"), money.parse(taxText, "Tax:"),
+                money.parse(totalText, "Total:"));
+    }
+
+    // Tax on an item total, rounded half up as the app does
+    public long taxOn(long itemTotal) {
+        long scaled = Math.multiplyExact(Math.abs(itemTotal), rateNumerator);
+        long tax = (scaled + RATE_SCALE / 2) / RATE_SCALE;
+        return itemTotal < 0 ? -tax : tax;
+    }
+
+    // Problems with the summary, empty when it adds up. lineItems are the expected (or displayed)
+    // item prices; with none, only tax and total are checked against the displayed item total.
+    public List<String> validate(Summary summary, long... lineItems) {
+        List<String> problems = new ArrayList<>(0);
+        if (lineItems.length > 0) {
+            long sum = 0;
+            for (long lineItem : lineItems) {
+                sum = Math.addExact(sum, lineItem);
+            }
+            if (sum != summary.itemTotal()) {
+                problems.add("item total " + money.format(summary.itemTotal()) + ", line items add up to " + money.format(sum));
+            }
+        }
+        long expectedTax = taxOn(summary.itemTotal());
+        if (summary.tax() != expectedTax) {
+            problems.add("tax " + money.format(summary.tax()) + ", expected " + money.format(expectedTax));
+        }
+        long expectedTotal = Math.addExact(summary.itemTotal(), summary.tax());
+        if (summary.total() != expectedTotal) {
+            problems.add("total " + money.format(summary.total()) + ", expected " + money.format(expectedTotal));
+        }
+        return problems;
+    }
+}
@@ -0,0 +1,53 @@
+package TestNG;
+
+import org.openqa.selenium.By;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Registry of the app's pages: path, display title and the locator of that title, defined
+// once and looked up by name instead of re-deriving locators on every check
+public enum Page {
+    LOGIN("Login", "index.html", Locators.LOGIN_BUTTON),
+    PRODUCTS("Products", "inventory.html", Locators.PRODUCTS_TITLE),
+    CART("Your Cart", "cart.html", Locators.SUBHEADER),
+    CHECKOUT_INFO("Checkout: Your Information", "checkout-step-one.html", Locators.SUBHEADER),
+    CHECKOUT_OVERVIEW("Checkout: Overview", "checkout-step-two.html", Locators.SUBHEADER),
+    FINISH("Finish", "checkout-complete.html", Locators.SUBHEADER);
+
+    private static final Map<String, Page> BY_NAME = new HashMap<>();
+
+    static {
+        for (Page page : values()) {
+            BY_NAME.put(page.title, page);
+        }
+    }
+
+    private final String title;
+    private final String path;
+    private final By titleLocator;
+
+    Page(String title, String path, By titleLocator) {
+        this.title = title;
+        this.path = path;
+        this.titleLocator = titleLocator;
+    }
+
+    // Page with the given display title, or null if there is none
+    public static Page named(String title) {
+        return BY_NAME.get(title);
+    }
+
+    public String title() {
+        return title;
+    }
+
+    // Path relative to the base URL, e.g. "inventory.html"
+    public String path() {
+        return path;
+    }
+
+    public By titleLocator() {
+        return titleLocator;
+    }
+}
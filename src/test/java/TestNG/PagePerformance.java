@@ -0,0 +1,155 @@
+package TestNG;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+// Synthetic performance monitoring: after each page load the Navigation Timing, Paint,
+// Largest Contentful Paint and Resource Timing entries of the new document are collected,
+// appended to a per-page CSV time series and checked against budgets. A budget breach
+// fails the test, so a performance regression fails the build like a functional one.
+// Budgets file: lines like "inventory.html.lcp=1500" (ms), "*" applies to every page.
+// Metrics: ttfb, fcp, lcp, domContentLoaded, load, resources (count), transferKb
+// Settings: -Dperf.capture=true, -Dperf.budgets (default perf-budgets.properties),
+//           -Dperf.dir (time series, default target/perf-history)
+public final class PagePerformance {
+
+    private static final boolean ENABLED = Boolean.getBoolean("perf.capture");
+    private static final Path BUDGETS = Paths.get(System.getProperty("perf.budgets", "perf-budgets.properties"));
+    private static final Path SERIES_DIR = Paths.get(System.getProperty("perf.dir", "target/perf-history"));
+    private static final String RUN_ID = String.valueOf(System.currentTimeMillis());
+
+    private static final List<String> METRICS = List.of("ttfb", "fcp", "lcp", "domContentLoaded", "load", "resources", "transferKb");
+
+    // Waits for the load event to finish and LCP to be reported, then returns all metrics once
+    // per document (null if this document was already captured)
+    private static final String CAPTURE_SCRIPT = """
+            var done = arguments[arguments.length - 1];
+            if (window.__perfCaptured) { done(null); return; }
+            window.__perfCaptured = true;
+            var lcp = 0;
+            try {
+              new PerformanceObserver(function (list) {
+                list.getEntries().forEach(function (e) { lcp = Math.max(lcp, e.startTime); });
+              }).observe({type: 'largest-contentful-paint', buffered: true});
+            } catch (e) {}
+            var started = Date.now();
+            (function collect() {
+              var nav = performance.getEntriesByType('navigation')[0];
+              if ((!nav || nav.loadEventEnd === 0) && Date.now() - started < 5000) { setTimeout(collect, 20); return; }
+              // Give the buffered LCP observer one task to deliver
+              setTimeout(function () {
+                var paint = {};
+                performance.getEntriesByType('paint').forEach(function (e) { paint[e.name] = e.startTime; });
+                var resources = performance.getEntriesByType('resource');
+                var transfer = nav ? nav.transferSize : 0;
+                resources.forEach(function (r) { transfer += r.transferSize || 0; });
+                done({
+                  ttfb: nav ? nav.responseStart : 0,
+                  fcp: paint['first-contentful-paint'] || 0,
+                  lcp: lcp,
+                  domContentLoaded: nav ? nav.domContentLoadedEventEnd : 0,
+                  load: nav ? nav.loadEventEnd : 0,
+                  resources: resources.length,
+                  transferKb: transfer / 1024
+                });
+              }, 0);
+            })();
+            """;
+
+    private static final Properties BUDGET_LIMITS = loadBudgets();
+
+    private PagePerformance() {
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    // Captures the current page's metrics, records them and fails if a budget is exceeded
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver) {
+        if (!ENABLED) {
+            return;
+        }
+        Map<String, Object> metrics = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(CAPTURE_SCRIPT);
+        if (metrics == null) {
+            return;
+        }
+        String page = pageName(driver.getCurrentUrl());
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (String metric : METRICS) {
+            values.put(metric, ((Number) metrics.getOrDefault(metric, 0)).doubleValue());
+        }
+        append(page, values);
+        StepLog.info("Page timings {}: ttfb {} ms, fcp {} ms, lcp {} ms, load {} ms, {} resources, {} KiB", page,
+                values.get("ttfb"), values.get("fcp"), values.get("lcp"), values.get("load"), values.get("resources"),
+                values.get("transferKb"));
+
+        List<String> breaches = new ArrayList<>();
+        for (Map.Entry<String, Double> value : values.entrySet()) {
+            String limit = BUDGET_LIMITS.getProperty(page + "." + value.getKey(),
+                    BUDGET_LIMITS.getProperty("*." + value.getKey()));
+            if (limit != null && value.getValue() > Double.parseDouble(limit)) {
+                breaches.add(String.format(Locale.ROOT, "%s %.0f > %s", value.getKey(), value.getValue(), limit));
+            }
+        }
+        if (!breaches.isEmpty()) {
+            StepLog.warn("Budget exceeded on {}: {}", page, breaches);
+            throw new AssertionError("Performance budget exceeded on " + page + ": " + String.join(", ", breaches));
+        }
+    }
+
+    // "inventory.html" for http://host/v1/inventory.html?x=1
+    private static String pageName(String url) {
+        String path = URI.create(url).getPath();
+        String name = path == null ? "" : path.substring(path.lastIndexOf('/') + 1);
+        return name.isEmpty() ? "index.html" : name;
+    }
+
+    // One CSV per page, one row per capture, kept across runs
+    private static synchronized void append(String page, Map<String, Double> values) {
+        Path file = SERIES_DIR.resolve(page + ".csv");
+        StringBuilder row = new StringBuilder();
+        try {
+            Files.createDirectories(SERIES_DIR);
+            if (!Files.exists(file)) {
+                row.append("timestamp,run,").append(String.join(",", METRICS)).append('\n');
+            }
+            row.append(System.currentTimeMillis()).append(',').append(RUN_ID);
+            for (double value : values.values()) {
+                row.append(',').append(String.format(Locale.ROOT, "%.1f", value));
+            }
+            row.append('\n');
+            Files.writeString(file, row, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            StepLog.error("Failed to append {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Properties loadBudgets() {
+        Properties budgets = new Properties();
+        if (ENABLED && Files.exists(BUDGETS)) {
+            try (Reader reader = Files.newBufferedReader(BUDGETS, StandardCharsets.UTF_8)) {
+                budgets.load(reader);
+            } catch (IOException e) {
+                StepLog.warn("Failed to read budgets {}: {}", BUDGETS, e.getMessage());
+            }
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,76 @@
+package TestNG;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Inventory of the SauceDemo v1 app, in the default (name A to Z) display order
+public final class SauceDemoCatalog {
+
+    // Sales tax applied on the checkout overview page
+    public static final BigDecimal TAX_RATE = new BigDecimal("0.08");
+
+    // One inventory item; price is the plain USD amount without currency symbol, e.g. "29.99",
+    // and priceCents the same amount in cents, e.g. 2999
+    public record Product(int id, String name, String description, String price, long priceCents, String image) {
+
+        // Parses the price once, so checks compare longs without parsing. The catalog is always
+        // in USD, whatever display format -Dmoney.locale selects for page text.
+        public Product(int id, String name, String description, String price, String image) {
+            this(id, name, description, price, MoneyFormat.US.parseAmount(price), image);
+        }
+    }
+
+    public static final List<Product> PRODUCTS = List.of(
+            new Product(4, "Sauce Labs Backpack",
+                    "carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with"
+                            + " unequaled laptop and tablet protection.",
+                    "29.99", "sauce-backpack-1200x1500.png"),
+            new Product(0, "Sauce Labs Bike Light",
+                    "A red light isn't the desired state in testing but it sure helps when riding your bike at night."
+                            + " Water-resistant with 3 lighting modes, 1 AAA battery included.",
+                    "9.99", "bike-light-1200x1500.png"),
+            new Product(1, "Sauce Labs Bolt T-Shirt",
+                    "Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100%"
+                            + " ringspun combed cotton, heather gray with red bolt.",
+                    "15.99", "bolt-shirt-1200x1500.png"),
+            new Product(5, "Sauce Labs Fleece Jacket",
+                    "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling"
+                            + " everything from a relaxing day outdoors to a busy day at the office.",
+                    "49.99", "sauce-pullover-1200x1500.png"),
+            new Product(2, "Sauce Labs Onesie",
+                    "Rib snap infant onesie for the junior automation engineer in your life. Reinforced 3-snap bottom"
+                            + " closure, two-needle hemmed sleeved and bottom won't unravel.",
+                    "7.99", "red-onesie-1200x1500.png"),
+            new Product(3, "Test.allTheThings() T-Shirt (Red)",
+                    "This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate"
+                            + " a few tests. Super-soft comfy fabric.",
+                    "15.99", "red-tatt-1200x1500.png"));
+
+    private SauceDemoCatalog() {
+    }
+
+    // Looks up a product by its app id
+    public static Product byId(int id) {
+        for (Product product : PRODUCTS) {
+            if (product.id() == id) {
+                return product;
+            }
+        }
+        throw new IllegalArgumentException("Unknown product id: " + id);
+    }
+
+    // Looks up a product by its display position on the inventory page (1-based)
+    public static Product byIndex(int index) {
+        return PRODUCTS.get(index - 1);
+    }
+
+    // Looks up a product by its display name
+    public static Product byName(String name) {
+        for (Product product : PRODUCTS) {
+            if (product.name().equals(name)) {
+                return product;
+            }
+        }
+        throw new IllegalArgumentException("Unknown product: " + name);
+    }
+}
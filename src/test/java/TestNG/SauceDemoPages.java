@@ -0,0 +1,247 @@
+package TestNG;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+// Server-side rendering of the SauceDemo v1 pages used by the suite. The markup keeps the
+// ids, classes and element nesting of the real site, so the suite's CSS and XPath locators
+// resolve to the same elements locally.
+final class SauceDemoPages {
+
+    private SauceDemoPages() {
+    }
+
+    static String login() {
+        return page("", """
+                <div class="login_logo"></div>
+                <div class="login_wrapper">
+                  <div class="login_wrapper-inner">
+                    <div id="login_button_container" class="form_column">
+                      <div class="login-box">
+                        <form>
+                          <input type="text" class="form_input" data-test="username" id="user-name" placeholder="Username" value="">
+                          <input type="password" class="form_input" data-test="password" id="password" placeholder="Password" value="">
+                          <input type="submit" class="btn_action" id="login-button" value="LOGIN">
+                          <h3 data-test="error" class="error-message" hidden></h3>
+                        </form>
+                      </div>
+                    </div>
+                  </div>
+                </div>
+                """);
+    }
+
+    static String inventory(List<Integer> cart) {
+        StringBuilder items = new StringBuilder();
+        for (SauceDemoCatalog.Product product : SauceDemoCatalog.PRODUCTS) {
+            boolean inCart = cart.contains(product.id());
+            items.append("""
+                    <div class="inventory_item">
+                      <div class="inventory_item_img">
+                        <a href="./inventory-item.html?id=%d" id="item_%d_img_link"><img src="./img/%s" class="inventory_item_img" alt="%s"></a>
+                      </div>
+                      <div class="inventory_item_label">
+                        <a href="./inventory-item.html?id=%d" id="item_%d_title_link"><div class="inventory_item_name">%s</div></a>
+                        <div class="inventory_item_desc">%s</div>
+                      </div>
+                      <div class="pricebar">
+                        <div class="inventory_item_price">$%s</div>
+                        <button class="%s btn_inventory" data-id="%d">%s</button>
+                      </div>
+                    </div>
+                    """.formatted(product.id(), product.id(), product.image(), escape(product.name()),
+                    product.id(), product.id(), escape(product.name()), escape(product.description()),
+                    product.price(), inCart ? "btn_secondary" : "btn_primary", product.id(),
+                    inCart ? "REMOVE" : "ADD TO CART"));
+        }
+        return appPage(cart, """
+                <div class="subheader"><div class="product_label">Products</div>
+                  <select class="product_sort_container">
+                    <option value="az">Name (A to Z)</option>
+                    <option value="za">Name (Z to A)</option>
+                    <option value="lohi">Price (low to high)</option>
+                    <option value="hilo">Price (high to low)</option>
+                  </select>
+                </div>
+                <div id="inventory_container">
+                  <div>
+                    <div id="inventory_container" class="inventory_container">
+                      <div class="inventory_list">
+                """ + items + """
+                      </div>
+                    </div>
+                  </div>
+                </div>
+                """);
+    }
+
+    static String cart(List<Integer> cart) {
+        return appPage(cart, """
+                <div class="subheader">Your Cart</div>
+                <div id="cart_contents_container" class="cart_contents_container">
+                  <div>
+                    <div class="cart_list">
+                      <div class="cart_quantity_label">QTY</div>
+                      <div class="cart_desc_label">DESCRIPTION</div>
+                """ + cartItems(cart, true) + """
+                    </div>
+                    <div class="cart_footer">
+                      <a class="btn_secondary" href="./inventory.html">Continue Shopping</a>
+                      <a class="btn_action checkout_button" href="./checkout-step-one.html">CHECKOUT</a>
+                    </div>
+                  </div>
+                </div>
+                """);
+    }
+
+    static String checkoutStepOne(List<Integer> cart) {
+        return appPage(cart, """
+                <div class="subheader">Checkout: Your Information</div>
+                <div id="checkout_info_container" class="checkout_info_container">
+                  <div class="checkout_info_wrapper">
+                    <form>
+                      <div class="checkout_info">
+                        <h3 data-test="error" class="error-message" hidden></h3>
+                        <input type="text" class="form_input" data-test="firstName" id="first-name" placeholder="First Name" value="">
+                        <input type="text" class="form_input" data-test="lastName" id="last-name" placeholder="Last Name" value="">
+                        <input type="text" class="form_input" data-test="postalCode" id="postal-code" placeholder="Zip/Postal Code" value="">
+                      </div>
+                      <div class="checkout_buttons">
+                        <a class="cart_cancel_link btn_secondary" href="./cart.html">CANCEL</a>
+                        <input class="btn_primary cart_button" type="submit" value="CONTINUE">
+                      </div>
+                    </form>
+                  </div>
+                </div>
+                """);
+    }
+
+    static String checkoutStepTwo(List<Integer> cart) {
+        BigDecimal itemTotal = BigDecimal.ZERO;
+        for (int id : cart) {
+            itemTotal = itemTotal.add(new BigDecimal(SauceDemoCatalog.byId(id).price()));
+        }
+        BigDecimal tax = itemTotal.multiply(SauceDemoCatalog.TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal total = itemTotal.add(tax);
+
+        return appPage(cart, """
+                <div class="subheader">Checkout: Overview</div>
+                <div id="checkout_summary_container" class="checkout_summary_container">
+                  <div>
+                    <div class="cart_list">
+                      <div class="cart_quantity_label">QTY</div>
+                      <div class="cart_desc_label">DESCRIPTION</div>
+                """ + cartItems(cart, false) + """
+                    </div>
+                    <div class="summary_info">
+                      <div class="summary_info_label">Payment Information:</div>
+                      <div class="summary_value_label">SauceCard #31337</div>
+                      <div class="summary_info_label">Shipping Information:</div>
+                      <div class="summary_value_label">FREE PONY EXPRESS DELIVERY!</div>
+                      <div class="summary_subtotal_label">Item total: $%s</div>
+                      <div class="summary_tax_label">Tax: $%s</div>
+                      <div class="summary_total_label">Total: $%s</div>
+                      <div class="cart_footer">
+                        <a class="cart_cancel_link btn_secondary" href="./inventory.html">CANCEL</a>
+                        <a class="btn_action cart_button" href="./checkout-complete.html">FINISH</a>
+                      </div>
+                    </div>
+                  </div>
+                </div>
+                """.formatted(itemTotal.toPlainString(), tax.toPlainString(), total.toPlainString()));
+    }
+
+    static String checkoutComplete(List<Integer> cart) {
+        return appPage(cart, """
+                <div class="subheader">Finish</div>
+                <div id="checkout_complete_container" class="checkout_complete_container">
+                  <h2 class="complete-header">THANK YOU FOR YOUR ORDER</h2>
+                  <div class="complete-text">Your order has been dispatched, and will arrive just as fast as the pony can get there!</div>
+                  <img src="./img/pony-express.png" class="pony_express" alt="Pony Express">
+                </div>
+                """);
+    }
+
+    // Cart rows; the real v1 cart renders prices without the currency symbol
+    private static String cartItems(List<Integer> cart, boolean removable) {
+        StringBuilder rows = new StringBuilder();
+        for (int id : cart) {
+            SauceDemoCatalog.Product product = SauceDemoCatalog.byId(id);
+            rows.append("""
+                    <div class="cart_item">
+                      <div class="cart_quantity">1</div>
+                      <div class="cart_item_label">
+                        <a href="./inventory-item.html?id=%d" id="item_%d_title_link"><div class="inventory_item_name">%s</div></a>
+                        <div class="inventory_item_desc">%s</div>
+                        <div class="item_pricebar">
+                          <div class="inventory_item_price">%s</div>
+                    """.formatted(product.id(), product.id(), escape(product.name()),
+                    escape(product.description()), product.price()));
+            if (removable) {
+                rows.append("          <button class=\"btn_secondary cart_button\" data-id=\"")
+                        .append(product.id()).append("\">REMOVE</button>\n");
+            }
+            rows.append("""
+                        </div>
+                      </div>
+                    </div>
+                    """);
+        }
+        return rows.toString();
+    }
+
+    // Logged-in page: hamburger menu, header with cart badge, then the page body
+    private static String appPage(List<Integer> cart, String body) {
+        String badge = cart.isEmpty() ? ""
+                : "<span class=\"fa-layers-counter shopping_cart_badge\">" + cart.size() + "</span>";
+        return page("inventory_page", """
+                <div id="page_wrapper" class="page_wrapper">
+                  <div id="menu_button_container">
+                    <div class="bm-burger-button"><button id="react-burger-menu-btn">Open Menu</button></div>
+                    <div class="bm-menu-wrap" aria-hidden="true">
+                      <div class="bm-menu">
+                        <nav class="bm-item-list">
+                          <a id="inventory_sidebar_link" class="bm-item menu-item" href="./inventory.html">All Items</a>
+                          <a id="about_sidebar_link" class="bm-item menu-item" href="https://saucelabs.com/">About</a>
+                          <a id="logout_sidebar_link" class="bm-item menu-item" href="./index.html">Logout</a>
+                          <a id="reset_sidebar_link" class="bm-item menu-item" href="#">Reset App State</a>
+                        </nav>
+                      </div>
+                      <div class="bm-cross-button"><button id="react-burger-cross-btn">Close Menu</button></div>
+                    </div>
+                  </div>
+                  <div id="contents_wrapper">
+                    <div id="header_container" class="header_container">
+                      <div class="app_logo"></div>
+                      <div id="shopping_cart_container" class="shopping_cart_container">
+                        <a href="./cart.html" class="fa-layers fa-fw shopping_cart_link">%s</a>
+                      </div>
+                    </div>
+                """.formatted(badge) + body + """
+                  </div>
+                </div>
+                """);
+    }
+
+    private static String page(String bodyId, String content) {
+        return """
+                <!DOCTYPE html>
+                <html lang="en">
+                <head>
+                  <meta charset="utf-8">
+                  <title>Swag Labs</title>
+                  <link rel="stylesheet" href="./static/app.css">
+                </head>
+                <body class="main-body" id="%s">
+                """.formatted(bodyId) + content + """
+                <script src="./static/app.js"></script>
+                </body>
+                </html>
+                """;
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
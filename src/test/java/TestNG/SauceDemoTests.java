@@ -1,596 +1,747 @@
 package TestNG;
 
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import org.testng.annotations.AfterTest;
-import org.testng.annotations.BeforeTest;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Factory;
 import org.testng.annotations.Test;
 
-import java.io.File;
-import java.io.IOException;
-import java.text.DecimalFormat;
-import java.time.Duration;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.IntStream;
 
 public class SauceDemoTests {
 
     // Global variables
-    String baseURL = "https://www.saucedemo.com/v1/index.html"; // Maintained original URL
-    WebDriver driver;
-    WebDriverWait wait;
-    String actualText;
-    String expectedText;
-    DecimalFormat df = new DecimalFormat("0.00");
+    // Exact money parsing and order summary checks; immutable, shared by all workers
+    private static final OrderSummaryValidator ORDER_SUMMARY =
+            new OrderSummaryValidator(TestConfig.moneyFormat(), SauceDemoCatalog.TAX_RATE);
 
-    @BeforeTest
-    public void BeforeTestMethod() {
+    // Network conditions every test of this instance runs under
+    private final NetworkProfile network;
 
-        System.out.println("[SETUP] Initializing ChromeDriver and setting up test environment ⚙️");
-
-        // Initialize ChromeDriver
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
-
-        // Set implicit wait to handle general element loading
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
+    // One instance per profile selected with -Dnetwork.profiles (a single NONE instance by default)
+    @Factory(dataProvider = "networkProfiles")
+    public SauceDemoTests(NetworkProfile network) {
+        this.network = network;
+    }
 
-        // Explicit wait for specific conditions
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+    @DataProvider(name = "networkProfiles")
+    public static Object[][] networkProfiles() {
+        return NetworkProfile.selected().stream().map(profile -> new Object[]{profile}).toArray(Object[][]::new);
+    }
 
-        // Create screenshots directory if it doesn't exist
-        new File("screenshots").mkdirs();
+    // Browsers come from the warm DriverPool (pre-started by SuiteListener), leased per test method
+    @BeforeMethod
+    public void leaseBrowser(Method method) {
+        // Warm session, already reset to about:blank with no cookies or storage
+        DriverPool.lease();
+        if (method.isAnnotationPresent(FullResources.class)) {
+            DriverPool.loadAllResources();
+        }
+        DriverPool.applyNetworkProfile(network);
+        StepLog.testStarted(network.tag() + method.getName());
+    }
 
-        System.out.println("[SETUP] Test environment ready ⚙️");
+    @AfterMethod(alwaysRun = true)
+    public void releaseBrowser(ITestResult result) {
+        // Failed or retried: keep the timeline that led up to it (the only place traces are written)
+        if (result.getStatus() == ITestResult.FAILURE || result.wasRetried()) {
+            DriverPool.flushTrace(DriverPool.currentNetworkTag() + result.getMethod().getMethodName());
+        }
+        DriverPool.release();
+        StepLog.testFinished();
     }
 
     // Test Case 1: Login and verify hamburger menu functionality
     @Test(priority = 1)
-    public void loginAndVerifyMenu() throws IOException {
-        System.out.println("\n===== TC 001: Login and Hamburger Menu Verification Start =====\n");
+    public void loginAndVerifyMenu() {
+        StepLog.info("TC 001: Login and Hamburger Menu Verification Start");
 
         // Navigate to login page
-        driver.get(baseURL);
-        System.out.println("[NAVIGATION] Launched application: " + baseURL + " 🧭");
+        String baseURL = TestConfig.baseUrl();
+        driver().get(baseURL);
+        StepLog.info("Launched application: {}", baseURL);
         waitForPageLoad();
 
         // Login with standard user credentials
-        System.out.println("\n--- [AUTH] Starting login process \uD83D\uDEC2 ---\n");
+        StepLog.info("Starting login process");
         userLogin("standard_user", "secret_sauce");
 
         // Verify successful navigation to products page
-        System.out.println("\n--- [VERIFICATION] Checking products page title \uD83D\uDD0D ---\n");
+        StepLog.info("Checking products page title");
         verifyPageTitle("Products", "Products");
 
         // Test hamburger menu functionality
-        System.out.println("\n--- [MENU] Testing hamburger menu functionality \uD83D\uDCC2 ---\n");
+        StepLog.info("Testing hamburger menu functionality");
         testHamburgerMenu();
 
-        System.out.println("\n===== TC 001: Login and Hamburger Menu Verification End =====\n");
-        System.out.println("=====================================================================");
+        StepLog.info("TC 001: Login and Hamburger Menu Verification End");
     }
 
     // Test Case 2: Verify product cards content
+    // Product images are checked, so lean-mode blocking is lifted for this test
+    @FullResources
     @Test(priority = 2)
-    public void verifyProductCards() throws IOException {
-        System.out.println("\n===== TC 002: Product Cards Verification Start =====\n");
+    public void verifyProductCards() {
+        StepLog.info("TC 002: Product Cards Verification Start");
 
-        // Verify contents of first product card
-        System.out.println("\n--- [PRODUCT] Verifying first product card \uD83D\uDCE6 ---\n");
-        verifyProductCardContents(1);
+        // Start logged in on the products page, independent of earlier tests
+        appState().loggedIn("standard_user", "secret_sauce");
 
-        System.out.println("\n===== TC 002: Product Cards Verification End =====\n");
-        System.out.println("=====================================================================");
+        // Verify contents of every product card
+        StepLog.info("Verifying all product cards");
+        verifyAllProductCards();
+
+        StepLog.info("TC 002: Product Cards Verification End");
     }
 
     // Test Case 3: Add product to cart and verify
     @Test(priority = 3)
-    public void addToCartAndVerify() throws IOException {
-        System.out.println("\n===== TC 003: Add to Cart Verification Start =====\n");
+    public void addToCartAndVerify() {
+        StepLog.info("TC 003: Add to Cart Verification Start");
+
+        // Start logged in on the products page, independent of earlier tests
+        appState().loggedIn("standard_user", "secret_sauce");
 
         // Add first product to cart and verify
-        System.out.println("\n--- [CART] Adding first product to cart \uD83D\uDED2 ---\n");
+        StepLog.info("Adding first product to cart");
         addProductToCart(1);
-        System.out.println("\n--- [CART] Verifying cart badge count \uD83D\uDED2 ---\n");
+        StepLog.info("Verifying cart badge count");
         verifyCartBadge(1);
 
         // Navigate to cart page and verify contents
-        System.out.println("\n--- [NAVIGATION] Going to cart page \uD83E\uDDED ---\n");
+        StepLog.info("Going to cart page");
         goToCartPage();
-        System.out.println("\n--- [VERIFICATION] Checking cart page title \uD83D\uDD0D ---\n");
+        StepLog.info("Checking cart page title");
         verifyPageTitle("Your Cart", "Your Cart");
-        System.out.println("\n--- [CART] Verifying product in cart \uD83D\uDED2 ---\n");
+        StepLog.info("Verifying product in cart");
         verifyProductInCart(1);
 
         // Continue shopping and add second product
-        System.out.println("\n--- [NAVIGATION] Continuing shopping \uD83E\uDDED ---\n");
+        StepLog.info("Continuing shopping");
         continueShopping();
-        System.out.println("\n--- [VERIFICATION] Checking products page title \uD83D\uDD0D ---\n");
+        StepLog.info("Checking products page title");
         verifyPageTitle("Products", "Products");
 
         // Add second product and verify cart updates
-        System.out.println("\n--- [CART] Adding second product to cart \uD83D\uDED2 ---\n");
+        StepLog.info("Adding second product to cart");
         addProductToCart(2);
-        System.out.println("\n--- [CART] Verifying cart badge count \uD83D\uDED2 ---\n");
+        StepLog.info("Verifying cart badge count");
         verifyCartBadge(2);
 
-        System.out.println("\n===== TC 003: Add to Cart Verification End =====\n");
-        System.out.println("=====================================================================");
+        StepLog.info("TC 003: Add to Cart Verification End");
     }
 
     // Test Case 4: Complete checkout process
     @Test(priority = 4)
-    public void checkoutProcess() throws IOException {
-        System.out.println("\n===== TC 004: Checkout Process Start =====\n");
+    public void checkoutProcess() {
+        StepLog.info("TC 004: Checkout Process Start");
 
-        // Navigate to cart and initiate checkout
-        System.out.println("\n--- [NAVIGATION] Going to cart page \uD83E\uDDED ---\n");
-        goToCartPage();
-        System.out.println("\n--- [CHECKOUT] Initiating checkout \uD83D\uDCB3 ---\n");
+        // Start on the cart page with the first two products, independent of earlier tests
+        StepLog.info("Seeding cart with two products");
+        appState().cartContains("standard_user", "secret_sauce",
+                SauceDemoCatalog.byIndex(1), SauceDemoCatalog.byIndex(2));
+
+        // Initiate checkout
+        StepLog.info("Initiating checkout");
         checkout();
 
         // Fill out checkout information
-        System.out.println("\n--- [VERIFICATION] Checking checkout information page title \uD83D\uDD0D ---\n");
+        StepLog.info("Checking checkout information page title");
         verifyPageTitle("Checkout: Your Information", "Checkout: Your Information");
-        System.out.println("\n--- [FORM] Filling checkout information \uD83D\uDCDD ---\n");
+        StepLog.info("Filling checkout information");
         fillCheckoutInfo("Thila", "De", "80000");
 
         // Verify order summary and complete checkout
-        System.out.println("\n--- [VERIFICATION] Checking checkout overview page title \uD83D\uDD0D ---\n");
+        StepLog.info("Checking checkout overview page title");
         verifyPageTitle("Checkout: Overview", "Checkout: Overview");
-        System.out.println("\n--- [ORDER] Verifying order summary \uD83D\uDCC3 ---\n");
+        StepLog.info("Verifying order summary");
         verifyOrderSummaryDetails();
-        System.out.println("\n--- [CHECKOUT] Completing checkout \uD83D\uDCB3 ---\n");
+        StepLog.info("Completing checkout");
         finishCheckout();
 
         // Verify successful order completion
-        System.out.println("\n--- [VERIFICATION] Checking order completion \uD83D\uDD0D ---\n");
+        StepLog.info("Checking order completion");
         verifyOrderCompletion();
 
-        System.out.println("\n===== TC 004: Checkout Process End =====\n");
-        System.out.println("=====================================================================");
+        StepLog.info("TC 004: Checkout Process End");
     }
 
-    @AfterTest
-    public void AfterTestMethod() {
-        // Clean up by closing the browser
-        if (driver != null) {
-            driver.quit();
+    // Data-driven matrix: one invocation per worker, each draining scenarios from the shared
+    // streaming source (see CheckoutMatrix). Runs only with -Dmatrix=true or -Dmatrix.file.
+    @DataProvider(name = "checkoutMatrixWorkers", parallel = true)
+    public Iterator<Object[]> checkoutMatrixWorkers() {
+        if (!CheckoutMatrix.enabled()) {
+            return Collections.emptyIterator();
         }
+        int workers = CheckoutMatrix.workers();
+        CheckoutMatrix matrix = CheckoutMatrix.open(workers, network == NetworkProfile.NONE ? "" : network.id());
+        return IntStream.range(0, workers).mapToObj(worker -> new Object[]{matrix, worker}).iterator();
     }
 
-    // ========== Supportive Methods ==========
-
-    // Logs in with provided credentials
-    private void userLogin(String username, String password) {
-        System.out.println("[LOGIN] Attempting login with username: " + username + " 🔐");
-        wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("user-name"))).sendKeys(username);
-        driver.findElement(By.id("password")).sendKeys(password);
-        driver.findElement(By.id("login-button")).click();
-        System.out.println("[LOGIN] Login button clicked 🔐");
-        waitForPageLoad();
-    }
-
-    // Verifies page title matches expected value
-    private void verifyPageTitle(String expectedTitle, String pageName) throws IOException {
-        System.out.println("[VERIFICATION] Checking page title for: " + pageName + " \uD83D\uDD0D");
-        System.out.println("[VERIFICATION] Expected title: " + expectedTitle + " \uD83D\uDD0D");
+    // Test Case 5: Checkout matrix with varied customers, postal codes and carts
+    @Test(priority = 5, dataProvider = "checkoutMatrixWorkers")
+    public void checkoutMatrix(CheckoutMatrix matrix, int worker) {
+        StepLog.info("TC 005: Checkout Matrix Worker {} Start", worker);
 
+        int failed = 0;
+        int scenarios = 0;
         try {
-            By titleLocator;
-
-            // Determine appropriate locator based on page type
-            if (pageName.contains("Products")) {
-                titleLocator = By.className("product_label");
-            }
-            else if (pageName.contains("Your Cart")) {
-                titleLocator = By.xpath("//*[@id=\"contents_wrapper\"]/div[2]");
-            }
-            else if (pageName.contains("Checkout: Your Information")) {
-                titleLocator = By.xpath("//*[@id=\"contents_wrapper\"]/div[2]");
-            }
-            else if (pageName.contains("Checkout: Overview")) {
-                titleLocator = By.xpath("//*[@id=\"contents_wrapper\"]/div[2]");
-            }
-            else if (pageName.contains("Finish")) {
-                titleLocator = By.xpath("//*[@id=\"contents_wrapper\"]/div[2]");
-            }
-            else{
-                // Default locator if page type not recognized
-                titleLocator = By.cssSelector(".title");
+            CheckoutMatrix.Scenario scenario;
+            while ((scenario = matrix.next()) != null) {
+                StepLog.info("Scenario {}", scenario.id());
+                long start = System.nanoTime();
+                CheckoutMatrix.Outcome outcome = scenario.invalid() != null
+                        ? new CheckoutMatrix.Outcome(CheckoutMatrix.Status.ERROR, scenario.invalid())
+                        : runCheckoutScenario(scenario);
+                matrix.record(scenario, outcome, System.nanoTime() - start);
+                scenarios++;
+                if (outcome.status() != CheckoutMatrix.Status.PASS) {
+                    failed++;
+                    StepLog.warn("Scenario {} {}: {}", scenario.id(), outcome.status(), outcome.detail());
+                }
             }
+        } finally {
+            matrix.workerDone();
+        }
 
-            // Use more reliable CSS selector for the title element
-            System.out.println("[VERIFICATION] Using locator: " + titleLocator + " \uD83D\uDD0D");
-            WebElement titleElement = wait.until(ExpectedConditions.visibilityOfElementLocated(titleLocator));
-            actualText = titleElement.getText().trim();
-            System.out.println("[VERIFICATION] Actual title: " + actualText + " \uD83D\uDD0D");
+        StepLog.info("TC 005: Checkout Matrix Worker {} End ({} scenarios)", worker, scenarios);
+        Assert.assertEquals(failed, 0, "failed matrix scenarios on worker " + worker);
+    }
 
-            if (actualText.equals(expectedTitle)) {
-                System.out.println("[SUCCESS] Title verification passed ✅");
-            }else{
-                System.out.println("[WARNING] Title verification failed ⚠\uFE0F");
-                takeScreenshot(pageName.replace(":", "") + "_TitleMismatch");
-            }
-        } catch (TimeoutException e) {
-            System.out.println("[ERROR] Page title element not found ❌");
-            takeScreenshot(pageName.replace(":", "") + "_TitleNotFound");
-        }
+    @AfterSuite(alwaysRun = true)
+    public void AfterTestMethod() {
+        // Clean up by closing every pooled browser
+        DriverPool.quitAll();
+        LeanProfile.writeReport();
+        ScreenshotPipeline.flush();
+        DomWaits.printSummary();
+        ElementCache.printSummary();
+        StepTimer.writeReport();
+        StepLog.flush();
     }
 
-    private void testHamburgerMenu() throws IOException {
-        System.out.println("[MENU] Testing hamburger menu functionality \uD83D\uDCC2");
-        try {
-            System.out.println("[MENU] Opening menu \uD83D\uDCC2");
-            // Use ID locator which is more reliable than XPath
-            WebElement menuButton = wait.until(ExpectedConditions.elementToBeClickable(
-                    By.id("react-burger-menu-btn")));
-            menuButton.click();
-            System.out.println("[MENU] Hamburger menu opened successfully \uD83D\uDCC2");
-
-            // Wait for menu animation to complete
-            Thread.sleep(300); // Brief pause for menu animation
-
-            // Verify menu items using specific class names
-            System.out.println("[MENU] Verifying menu items \uD83D\uDCC2");
-            List<WebElement> menuItems = wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(
-                    By.cssSelector(".bm-item.menu-item")));
-            System.out.println("[MENU] Found " + menuItems.size() + " menu items \uD83D\uDCC2");
-
-            if (menuItems.size() < 4) {
-                // Expected 4 menu items
-                System.out.println("[WARNING] Missing menu items (expected: 4) ⚠\uFE0F");
-                takeScreenshot("Menu_ItemCountMismatch");
-            }
+    // ========== Supportive Methods ==========
 
-            // Close menu
-            System.out.println("[MENU] Closing menu \uD83D\uDCC2");
-            WebElement closeButton = wait.until(ExpectedConditions.elementToBeClickable(
-                    By.id("react-burger-cross-btn")));
-            closeButton.click();
-            System.out.println("[MENU] Menu closed successfully \uD83D\uDCC2");
-
-            // Verify menu is closed
-            System.out.println("[MENU] Verifying menu is closed \uD83D\uDCC2");
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(
-                    By.className("bm-menu-wrap")));
-            System.out.println("[SUCCESS] Menu test completed ✅");
-
-        } catch (TimeoutException e) {
-            System.out.println("[ERROR] Menu interaction timeout ❌");
-            takeScreenshot("Menu_InteractionTimeout");
-        }catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    // Driver owned by the current worker thread
+    private WebDriver driver() {
+        return DriverPool.driver();
     }
 
-    // Verifies contents of a product card by index
-    private void verifyProductCardContents(int index) throws IOException {
-        System.out.println("[PRODUCT] Verifying product card # " + index + " \uD83D\uDCE6");
-        try {
-            List<WebElement> products = driver.findElements(By.cssSelector(".inventory_item"));
-            System.out.println("[PRODUCT] Found " + products.size() + " products \uD83D\uDCE6");
+    // Event-driven waits, bound to the current worker's driver
+    private DomWaits waits() {
+        return DriverPool.waits();
+    }
 
-            if (products.size() >= index) {
-                WebElement product = products.get(index - 1);
-                String productName = product.findElement(By.cssSelector(".inventory_item_name")).getText();
+    // Fixture that seeds app state for the current worker's driver
+    private AppState appState() {
+        return new AppState(driver(), this::userLogin);
+    }
 
-                System.out.println("[PRODUCT] Checking product: " + productName + " \uD83D\uDCE6");
+    // Snapshot of all product cards, waiting for the first card only if none are rendered yet
+    private List<DomSnapshot.ProductCard> productCards() {
+        List<DomSnapshot.ProductCard> cards = DomSnapshot.productCards(driver());
+        if (cards.isEmpty() && !waits().findAll(Locators.INVENTORY_ITEM).isEmpty()) {
+            cards = DomSnapshot.productCards(driver());
+        }
+        return cards;
+    }
 
-                // Check all required elements are present
-                boolean namePresent = product.findElement(By.cssSelector(".inventory_item_name")).isDisplayed();
-                boolean descPresent = product.findElement(By.cssSelector(".inventory_item_desc")).isDisplayed();
-                boolean pricePresent = product.findElement(By.cssSelector(".inventory_item_price")).isDisplayed();
-                boolean buttonPresent = product.findElement(By.cssSelector(".btn_inventory")).isDisplayed();
-                boolean imagePresent = product.findElement(By.cssSelector(".inventory_item_img")).isDisplayed();
+    // Snapshot of all cart rows, waiting for the first row only if none are rendered yet
+    private List<DomSnapshot.CartItem> cartItems() {
+        List<DomSnapshot.CartItem> items = DomSnapshot.cartItems(driver());
+        if (items.isEmpty() && !waits().findAll(Locators.CART_ITEM).isEmpty()) {
+            items = DomSnapshot.cartItems(driver());
+        }
+        return items;
+    }
 
-                if (namePresent && descPresent && pricePresent && buttonPresent && imagePresent) {
-                    System.out.println("[SUCCESS] All elements present in product card ✅");
-                } else {
-                    System.out.println("[WARNING] Missing elements in product card ⚠\uFE0F");
-                    takeScreenshot("ProductCard_" + index + "_MissingElements");
-                }
+    // Logs in with provided credentials
+    private void userLogin(String username, String password) {
+        try (StepTimer.Step ignored = StepTimer.start("userLogin")) {
+            StepLog.info("Attempting login with username: {}", username);
+            waits().visible(Locators.USERNAME).sendKeys(username);
+            waits().find(Locators.PASSWORD).sendKeys(password);
+            waits().find(Locators.LOGIN_BUTTON).click();
+            StepLog.info("Login button clicked");
+            waitForPageLoad();
+        }
+    }
 
-                // Verify price format
-                String priceText = product.findElement(By.cssSelector(".inventory_item_price")).getText();
-                System.out.println("[PRODUCT] Price verification: " + priceText + " \uD83D\uDCE6");
-                if (!priceText.startsWith("$")) {
-                    System.out.println("[WARNING] Price format issue ⚠\uFE0F");
-                    takeScreenshot("ProductCard_" + index + "_PriceFormat");
+    // Verifies page title matches expected value
+    private void verifyPageTitle(String expectedTitle, String pageName) {
+        try (StepTimer.Step ignored = StepTimer.start("verifyPageTitle")) {
+            StepLog.info("Checking page title for: {}", pageName);
+            StepLog.info("Expected title: {}", expectedTitle);
+
+            try {
+                // Title locator from the page registry, default locator if page type not recognized
+                Page page = Page.named(pageName);
+                By titleLocator = page == null ? Locators.DEFAULT_TITLE : page.titleLocator();
+
+                StepLog.debug("Using locator: {}", titleLocator);
+                WebElement titleElement = waits().visible(titleLocator);
+                String actualText = titleElement.getText().trim();
+                StepLog.info("Actual title: {}", actualText);
+
+                if (actualText.equals(expectedTitle)) {
+                    StepLog.info("Title verification passed");
                 }else{
-                    System.out.println("[SUCCESS] Valid price format: " + priceText + " ✅");
+                    StepLog.warn("Title verification failed");
+                    takeScreenshot(pageName.replace(":", "") + "_TitleMismatch");
                 }
-            }else{
-                System.out.println("[ERROR] Product index out of range ❌");
-                takeScreenshot("ProductCountMismatch");
+            } catch (TimeoutException e) {
+                StepLog.error("Page title element not found");
+                takeScreenshot(pageName.replace(":", "") + "_TitleNotFound");
+                // Transient: let TransientRetryAnalyzer retry this test
+                throw e;
             }
-        } catch (NoSuchElementException e) {
-            System.out.println("[ERROR] Product card elements not found ❌");
-            takeScreenshot("ProductCard_" + index + "_ElementNotFound");
         }
     }
 
-    // Adds product to cart by index
-    private void addProductToCart(int index) throws IOException {
-        System.out.println("[CART] Adding product #" + index + " to cart \uD83D\uDED2");
-        try {
-            List<WebElement> products = driver.findElements(By.cssSelector(".inventory_item"));
-            System.out.println("[CART] Found " + products.size() + " products \uD83D\uDED2");
+    private void testHamburgerMenu() {
+        try (StepTimer.Step ignored = StepTimer.start("testHamburgerMenu")) {
+            StepLog.info("Testing hamburger menu functionality");
+            try {
+                StepLog.info("Opening menu");
+                // Use ID locator which is more reliable than XPath
+                WebElement menuButton = waits().clickable(Locators.MENU_BUTTON);
+                menuButton.click();
+                StepLog.info("Hamburger menu opened successfully");
+
+                // Verify menu items using specific class names (the wait also covers the menu animation)
+                StepLog.info("Verifying menu items");
+                List<WebElement> menuItems = waits().allVisible(Locators.MENU_ITEMS);
+                StepLog.info("Found {} menu items", menuItems.size());
+
+                if (menuItems.size() < 4) {
+                    // Expected 4 menu items
+                    StepLog.warn("Missing menu items (expected: 4)");
+                    takeScreenshot("Menu_ItemCountMismatch");
+                }
 
-            if (products.size() >= index) {
-                WebElement product = products.get(index - 1);
-                String productName = product.findElement(By.cssSelector(".inventory_item_name")).getText();
-                System.out.println("[CART] Adding product: " + productName + " \uD83D\uDED2");
+                // Close menu
+                StepLog.info("Closing menu");
+                WebElement closeButton = waits().clickable(Locators.MENU_CLOSE);
+                closeButton.click();
+                StepLog.info("Menu closed successfully");
+
+                // Verify menu is closed
+                StepLog.info("Verifying menu is closed");
+                waits().invisible(Locators.MENU_WRAP);
+                StepLog.info("Menu test completed");
+
+            } catch (TimeoutException e) {
+                StepLog.error("Menu interaction timeout");
+                takeScreenshot("Menu_InteractionTimeout");
+                throw e;
+            }
+        }
+    }
+
+    // Verifies every product card from a single DOM snapshot
+    private void verifyAllProductCards() {
+        try (StepTimer.Step ignored = StepTimer.start("verifyAllProductCards")) {
+            List<DomSnapshot.ProductCard> cards = productCards();
+            StepLog.info("Found {} products", cards.size());
+
+            if (cards.isEmpty()) {
+                StepLog.error("No product cards found");
+                takeScreenshot("ProductCountMismatch");
+                return;
+            }
+            for (DomSnapshot.ProductCard card : cards) {
+                verifyProductCardContents(card);
+            }
+        }
+    }
 
-                WebElement button = product.findElement(By.cssSelector(".btn_inventory"));
-                String buttonText = button.getText();
-                System.out.println("[CART] Initial button state: " + buttonText + " \uD83D\uDED2");
+    // Verifies contents of one product card snapshot
+    private void verifyProductCardContents(DomSnapshot.ProductCard card) {
+        try (StepTimer.Step ignored = StepTimer.start("verifyProductCardContents")) {
+            int index = card.index();
+            StepLog.info("Verifying product card # {}", index);
+            StepLog.info("Checking product: {}", card.name());
 
-                button.click();
-                System.out.println("[CART] Add to cart button clicked \uD83D\uDED2");
+            // Check all required elements are present
+            if (card.allVisible() && card.imagePresent()) {
+                StepLog.info("All elements present in product card");
+            } else {
+                StepLog.warn("Missing elements in product card");
+                takeScreenshot("ProductCard_" + index + "_MissingElements");
+            }
 
-                String newButtonText = button.getText();
-                System.out.println("[CART] Updated button state: " + newButtonText + " \uD83D\uDED2");
+            // Verify price format
+            String priceText = card.price();
+            StepLog.info("Price verification: {}", priceText);
+            if (priceText == null || !ORDER_SUMMARY.money().isValid(priceText)) {
+                StepLog.warn("Price format issue");
+                takeScreenshot("ProductCard_" + index + "_PriceFormat");
+            }else{
+                StepLog.info("Valid price format: {}", priceText);
+            }
+        }
+    }
 
-                // Verify button text changed to "REMOVE"
-                if (newButtonText.equals("REMOVE")) {
-                    System.out.println("[SUCCESS] Product added to cart ✅");
+    // Adds product to cart by index
+    private void addProductToCart(int index) {
+        try (StepTimer.Step ignored = StepTimer.start("addProductToCart")) {
+            StepLog.info("Adding product #{} to cart", index);
+            try {
+                List<DomSnapshot.ProductCard> products = productCards();
+                StepLog.info("Found {} products", products.size());
+
+                if (products.size() >= index) {
+                    DomSnapshot.ProductCard product = products.get(index - 1);
+                    StepLog.info("Adding product: {}", product.name());
+                    StepLog.info("Initial button state: {}", product.buttonLabel());
+
+                    WebElement button = product.button();
+                    if (button == null) {
+                        throw new NoSuchElementException("Add to cart button missing on product #" + index);
+                    }
+                    button.click();
+                    StepLog.info("Add to cart button clicked");
+
+                    String newButtonText = button.getText();
+                    StepLog.info("Updated button state: {}", newButtonText);
+
+                    // Verify button text changed to "REMOVE"
+                    if (newButtonText.equals("REMOVE")) {
+                        StepLog.info("Product added to cart");
+                    } else {
+                        StepLog.warn("Button state not updated");
+                        takeScreenshot("AddToCart_" + index + "_ButtonState");
+                    }
                 } else {
-                    System.out.println("[WARNING] Button state not updated ⚠\uFE0F");
-                    takeScreenshot("AddToCart_" + index + "_ButtonState");
+                    StepLog.error("Product index out of range");
+                    takeScreenshot("ProductIndexError");
                 }
-            } else {
-                System.out.println("[ERROR] Product index out of range ❌");
-                takeScreenshot("ProductIndexError");
+            } catch (NoSuchElementException e) {
+                StepLog.error("Could not find product or button");
+                takeScreenshot("AddToCart_" + index + "_ElementNotFound");
             }
-        } catch (NoSuchElementException e) {
-            System.out.println("[ERROR] Could not find product or button ❌");
-            takeScreenshot("AddToCart_" + index + "_ElementNotFound");
         }
     }
 
     // Verifies cart badge shows expected item count
-    private void verifyCartBadge(int expectedCount) throws IOException {
-        System.out.println("[CART] Verifying cart badge count \uD83D\uDED2");
-        System.out.println("[CART] Expected count: " + expectedCount + " \uD83D\uDED2");
-
-        try {
-            WebElement cartBadge = driver.findElement(By.cssSelector(".shopping_cart_badge"));
-            int actualCount = Integer.parseInt(cartBadge.getText());
-            System.out.println("[CART] Actual count: " + actualCount + " \uD83D\uDED2");
-
-            if (actualCount == expectedCount) {
-                System.out.println("[SUCCESS] Cart count matches ✅");
-            } else {
-                System.out.println("[WARNING] Cart count mismatch ⚠\uFE0F");
-                takeScreenshot("CartBadge_CountMismatch");
-            }
-        } catch (NoSuchElementException e) {
-            if (expectedCount > 0) {
-                System.out.println("[ERROR] Cart badge not found ❌");
-                takeScreenshot("CartBadge_NotFound");
-            } else {
-                System.out.println("[SUCCESS] Cart is empty as expected ✅");
+    private void verifyCartBadge(int expectedCount) {
+        try (StepTimer.Step ignored = StepTimer.start("verifyCartBadge")) {
+            StepLog.info("Verifying cart badge count");
+            StepLog.info("Expected count: {}", expectedCount);
+
+            try {
+                // Direct lookup with zero implicit wait, so an absent badge fails immediately
+                WebElement cartBadge = driver().findElement(Locators.CART_BADGE);
+                int actualCount = Integer.parseInt(cartBadge.getText());
+                StepLog.info("Actual count: {}", actualCount);
+
+                if (actualCount == expectedCount) {
+                    StepLog.info("Cart count matches");
+                } else {
+                    StepLog.warn("Cart count mismatch");
+                    takeScreenshot("CartBadge_CountMismatch");
+                }
+            } catch (NoSuchElementException e) {
+                if (expectedCount > 0) {
+                    StepLog.error("Cart badge not found");
+                    takeScreenshot("CartBadge_NotFound");
+                } else {
+                    StepLog.info("Cart is empty as expected");
+                }
             }
         }
     }
 
     // Navigates to cart page
-    private void goToCartPage() throws IOException {
-        System.out.println("[NAVIGATION] Going to cart page 🧭");
-
-        try {
-            driver.findElement(By.cssSelector(".shopping_cart_link")).click();
-            System.out.println("[NAVIGATION] Cart icon clicked 🧭");
-            waitForPageLoad();
-        } catch (NoSuchElementException e) {
-            System.out.println("[ERROR] Cart icon not found ❌");
-            takeScreenshot("CartIcon_NotFound");
+    private void goToCartPage() {
+        try (StepTimer.Step ignored = StepTimer.start("goToCartPage")) {
+            StepLog.info("Going to cart page");
+
+            try {
+                waits().find(Locators.CART_LINK).click();
+                StepLog.info("Cart icon clicked");
+                waitForPageLoad();
+            } catch (NoSuchElementException e) {
+                StepLog.error("Cart icon not found");
+                takeScreenshot("CartIcon_NotFound");
+            }
         }
     }
 
     // Verifies product in cart by index
-    private void verifyProductInCart(int index) throws IOException {
-        System.out.println("[CART] Verifying product #" + index + " in cart \uD83D\uDED2");
+    private void verifyProductInCart(int index) {
+        try (StepTimer.Step ignored = StepTimer.start("verifyProductInCart")) {
+            StepLog.info("Verifying product #{} in cart", index);
 
-        try {
-            List<WebElement> cartItems = driver.findElements(By.cssSelector(".cart_item"));
-            System.out.println("[CART] Found " + cartItems.size() + " items in cart \uD83D\uDED2");
+            List<DomSnapshot.CartItem> cartItems = cartItems();
+            StepLog.info("Found {} items in cart", cartItems.size());
 
             if (cartItems.size() >= index) {
-                WebElement cartItem = cartItems.get(index - 1);
-                String productName = cartItem.findElement(By.cssSelector(".inventory_item_name")).getText();
-                System.out.println("[CART] Verifying product: " + productName + " \uD83D\uDED2");
+                DomSnapshot.CartItem cartItem = cartItems.get(index - 1);
+                StepLog.info("Verifying product: {}", cartItem.name());
 
-                String priceText = cartItem.findElement(By.cssSelector(".inventory_item_price")).getText();
-                System.out.println("[CART] Price verification: " + priceText + " \uD83D\uDED2");
+                String priceText = cartItem.price();
+                StepLog.info("Price verification: {}", priceText);
 
-                if (!priceText.startsWith("$")) {
-                    System.out.println("[WARNING] Price format issue ⚠\uFE0F");
+                // Cart rows show the amount without currency symbol, e.g. "29.99"
+                if (!ORDER_SUMMARY.money().isValidAmount(priceText)) {
+                    StepLog.warn("Price format issue");
                     takeScreenshot("CartItem_" + index + "_PriceFormat");
                 }
-                String buttonText = cartItem.findElement(By.cssSelector(".btn_secondary.cart_button")).getText();
-                System.out.println("[CART] Button state: " + buttonText + " \uD83D\uDED2");
+                String buttonText = cartItem.buttonLabel();
+                StepLog.info("Button state: {}", buttonText);
 
-                if (!buttonText.equals("REMOVE")) {
-                    System.out.println("[WARNING] Button state issue");
+                if (!"REMOVE".equals(buttonText)) {
+                    StepLog.warn("Button state issue");
                     takeScreenshot("CartItem_" + index + "_ButtonState");
                 }
             } else {
-                System.out.println("[ERROR] Product not in cart ❌");
+                StepLog.error("Product not in cart");
                 takeScreenshot("ProductNotInCart");
             }
-        } catch (NoSuchElementException e) {
-            System.out.println("[ERROR] Cart elements not found ❌");
-            takeScreenshot("CartItem_" + index + "_VerificationFailed");
         }
     }
 
     // Continues shopping from cart page
-    private void continueShopping() throws IOException {
-        System.out.println("[NAVIGATION] Continuing shopping 🧭");
-
-        try {
-            driver.findElement(By.className("btn_secondary")).click();
-            System.out.println("[NAVIGATION] Continue shopping button clicked 🧭");
-            waitForPageLoad();
-        } catch (NoSuchElementException e) {
-            System.out.println("[ERROR] Continue shopping button not found ❌");
-            takeScreenshot("ContinueShopping_ButtonNotFound");
+    private void continueShopping() {
+        try (StepTimer.Step ignored = StepTimer.start("continueShopping")) {
+            StepLog.info("Continuing shopping");
+
+            try {
+                waits().find(Locators.CONTINUE_SHOPPING).click();
+                StepLog.info("Continue shopping button clicked");
+                waitForPageLoad();
+            } catch (NoSuchElementException e) {
+                StepLog.error("Continue shopping button not found");
+                takeScreenshot("ContinueShopping_ButtonNotFound");
+            }
         }
     }
 
     // Initiates checkout from cart page
-    private void checkout() throws IOException {
-        System.out.println("[CHECKOUT] Initiating checkout \uD83D\uDCB3");
-
-        try {
-            driver.findElement(By.xpath("//*[@id=\"cart_contents_container\"]/div/div[2]/a[2]")).click();
-            System.out.println("[CHECKOUT] Checkout button clicked \uD83D\uDCB3");
-            waitForPageLoad();
-        } catch (NoSuchElementException e) {
-            System.out.println("[ERROR] Checkout button not found ❌");
-            takeScreenshot("Checkout_ButtonNotFound");
+    private void checkout() {
+        try (StepTimer.Step ignored = StepTimer.start("checkout")) {
+            StepLog.info("Initiating checkout");
+
+            try {
+                waits().find(Locators.CHECKOUT_BUTTON).click();
+                StepLog.info("Checkout button clicked");
+                waitForPageLoad();
+            } catch (NoSuchElementException e) {
+                StepLog.error("Checkout button not found");
+                takeScreenshot("Checkout_ButtonNotFound");
+            }
         }
     }
 
     // Fills out checkout information
-    private void fillCheckoutInfo(String firstName, String lastName, String zipCode) throws IOException {
-        System.out.println("[FORM] Filling checkout information \uD83D\uDCDD");
-        System.out.println("[FORM] First name: " + firstName + " \uD83D\uDCDD");
-        System.out.println("[FORM] Last name: " + lastName + " \uD83D\uDCDD");
-        System.out.println("[FORM] ZIP code: " + zipCode + " \uD83D\uDCDD");
-
-        try {
-            WebElement firstNameField = driver.findElement(By.id("first-name"));
-            firstNameField.clear();
-            firstNameField.sendKeys(firstName);
-            System.out.println("[FORM] First name entered \uD83D\uDCDD");
-
-            WebElement lastNameField = driver.findElement(By.id("last-name"));
-            lastNameField.clear();
-            lastNameField.sendKeys(lastName);
-            System.out.println("[FORM] Last name entered \uD83D\uDCDD");
-
-            WebElement zipCodeField = driver.findElement(By.id("postal-code"));
-            zipCodeField.clear();
-            zipCodeField.sendKeys(zipCode);
-            System.out.println("[FORM] ZIP code entered \uD83D\uDCDD");
-
-            System.out.println("[FORM] Submitting information \uD83D\uDCDD");
-            driver.findElement(By.xpath("//*[@id=\"checkout_info_container\"]/div/form/div[2]/input")).click();
-            waitForPageLoad();
-        } catch (NoSuchElementException e) {
-            System.out.println("[ERROR] Checkout form fields not found ❌");
-            takeScreenshot("CheckoutInfo_FieldNotFound");
+    private void fillCheckoutInfo(String firstName, String lastName, String zipCode) {
+        try (StepTimer.Step ignored = StepTimer.start("fillCheckoutInfo")) {
+            StepLog.info("Filling checkout information");
+            StepLog.info("First name: {}", firstName);
+            StepLog.info("Last name: {}", lastName);
+            StepLog.info("ZIP code: {}", zipCode);
+
+            try {
+                WebElement firstNameField = waits().find(Locators.FIRST_NAME);
+                firstNameField.clear();
+                firstNameField.sendKeys(firstName);
+                StepLog.info("First name entered");
+
+                WebElement lastNameField = waits().find(Locators.LAST_NAME);
+                lastNameField.clear();
+                lastNameField.sendKeys(lastName);
+                StepLog.info("Last name entered");
+
+                WebElement zipCodeField = waits().find(Locators.POSTAL_CODE);
+                zipCodeField.clear();
+                zipCodeField.sendKeys(zipCode);
+                StepLog.info("ZIP code entered");
+
+                StepLog.info("Submitting information");
+                waits().find(Locators.CONTINUE_CHECKOUT).click();
+                waitForPageLoad();
+            } catch (NoSuchElementException e) {
+                StepLog.error("Checkout form fields not found");
+                takeScreenshot("CheckoutInfo_FieldNotFound");
+            }
         }
     }
 
     // Verifies order summary details
-    private void verifyOrderSummaryDetails() throws IOException {
-        System.out.println("[ORDER] Verifying order summary \uD83D\uDCC3");
+    private void verifyOrderSummaryDetails() {
+        try (StepTimer.Step ignored = StepTimer.start("verifyOrderSummaryDetails")) {
+            StepLog.info("Verifying order summary");
 
-        try {
-            String paymentInfo = driver.findElement(By.xpath("//*[@id=\"checkout_summary_container\"]/div/div[2]/div[2]")).getText();
-            System.out.println("[ORDER] Payment info: " + paymentInfo + " \uD83D\uDCC3");
+            try {
+                String paymentInfo = waits().find(Locators.PAYMENT_INFO).getText();
+                StepLog.info("Payment info: {}", paymentInfo);
 
-            if (!paymentInfo.contains("SauceCard #31337")) {
-                System.out.println("[WARNING] Payment information issue ⚠\uFE0F");
-                takeScreenshot("OrderSummary_PaymentInfo");
-            }
+                if (!paymentInfo.contains("SauceCard #31337")) {
+                    StepLog.warn("Payment information issue");
+                    takeScreenshot("OrderSummary_PaymentInfo");
+                }
 
-            // Verify shipping information
-            String shippingInfo = driver.findElement(By.xpath("//*[@id=\"checkout_summary_container\"]/div/div[2]/div[4]")).getText();
-            System.out.println("[ORDER] Shipping info: " + shippingInfo + " \uD83D\uDCC3");
+                // Verify shipping information
+                String shippingInfo = waits().find(Locators.SHIPPING_INFO).getText();
+                StepLog.info("Shipping info: {}", shippingInfo);
 
-            if (!shippingInfo.contains("FREE PONY EXPRESS DELIVERY!")) {
-                System.out.println("[WARNING] Shipping information issue ⚠\uFE0F");
-                takeScreenshot("OrderSummary_ShippingInfo");
-            }
+                if (!shippingInfo.contains("FREE PONY EXPRESS DELIVERY!")) {
+                    StepLog.warn("Shipping information issue");
+                    takeScreenshot("OrderSummary_ShippingInfo");
+                }
 
-            // Verify total calculation
-            String itemTotalText = driver.findElement(By.className("summary_subtotal_label")).getText();
-            double itemTotal = Double.parseDouble(itemTotalText.replace("Item total: $", ""));
-            System.out.println("[ORDER] Item total: $" + df.format(itemTotal) + " \uD83D\uDCC3");
+                // Verify line items, item total, tax and total, exactly in cents; line items have no currency symbol
+                String itemTotalText = waits().find(Locators.ITEM_TOTAL).getText();
+                StepLog.info("{}", itemTotalText);
+                String taxText = waits().find(Locators.TAX).getText();
+                StepLog.info("{}", taxText);
+                String totalText = waits().find(Locators.TOTAL).getText();
+                StepLog.info("{}", totalText);
+
+                List<DomSnapshot.CartItem> lineItems = cartItems();
+                long[] linePrices = new long[lineItems.size()];
+                for (int i = 0; i < linePrices.length; i++) {
+                    linePrices[i] = ORDER_SUMMARY.money().parseAmount(lineItems.get(i).price());
+                }
+                List<String> problems = ORDER_SUMMARY.validate(
+                        ORDER_SUMMARY.parse(itemTotalText, taxText, totalText), linePrices);
+                if (!problems.isEmpty()) {
+                    StepLog.warn("Calculation error: {}", problems);
+                    takeScreenshot("OrderSummary_CalculationError");
+                    Assert.fail("Order summary does not add up: " + String.join("; ", problems));
+                }
+                StepLog.info("Order totals match");
+            } catch (IllegalArgumentException e) {
+                StepLog.warn("Amount format issue: {}", e.getMessage());
+                takeScreenshot("OrderSummary_AmountFormat");
+                Assert.fail("Order summary amount format: " + e.getMessage(), e);
+            } catch (NoSuchElementException e) {
+                StepLog.error("Order summary elements not found");
+                takeScreenshot("OrderSummary_VerificationFailed");
+            }
+        }
+    }
 
-            String taxText = driver.findElement(By.className("summary_tax_label")).getText();
-            double tax = Double.parseDouble(taxText.replace("Tax: $", ""));
-            System.out.println("[ORDER] Tax: $" + df.format(tax) + " \uD83D\uDCC3");
+    // Runs one matrix scenario from the checkout information page and checks the tax/total math
+    private CheckoutMatrix.Outcome runCheckoutScenario(CheckoutMatrix.Scenario scenario) {
+        try (StepTimer.Step ignored = StepTimer.start("runCheckoutScenario")) {
+            appState().seed(AppState.Stage.CHECKOUT_INFO, "standard_user", "secret_sauce", scenario.products());
+            fillCheckoutInfo(scenario.firstName(), scenario.lastName(), scenario.postalCode());
+
+            if (scenario.expectError()) {
+                String error = waits().visible(Locators.ERROR_MESSAGE).getText();
+                return error.startsWith("Epic sadface")
+                        ? new CheckoutMatrix.Outcome(CheckoutMatrix.Status.PASS, error)
+                        : new CheckoutMatrix.Outcome(CheckoutMatrix.Status.FAIL, "Unexpected error text: " + error);
+            }
 
-            String totalText = driver.findElement(By.className("summary_total_label")).getText();
-            double total = Double.parseDouble(totalText.replace("Total: $", ""));
-            System.out.println("[ORDER] Total: $" + df.format(total) + " \uD83D\uDCC3");
+            OrderSummaryValidator.Summary summary = ORDER_SUMMARY.parse(waits().find(Locators.ITEM_TOTAL).getText(),
+                    waits().find(Locators.TAX).getText(), waits().find(Locators.TOTAL).getText());
+            long[] expectedPrices = new long[scenario.products().size()];
+            for (int i = 0; i < expectedPrices.length; i++) {
+                expectedPrices[i] = scenario.products().get(i).priceCents();
+            }
+            List<String> problems = ORDER_SUMMARY.validate(summary, expectedPrices);
+            if (!problems.isEmpty()) {
+                takeScreenshot("Matrix_" + scenario.id() + "_Totals");
+                return new CheckoutMatrix.Outcome(CheckoutMatrix.Status.FAIL, "Totals: " + String.join("; ", problems));
+            }
 
-            double calculatedTotal = itemTotal + tax;
-            if (Math.abs(calculatedTotal - total) > 0.01) {
-                System.out.println("[WARNING] Calculation error: $" + df.format(calculatedTotal) + " vs $" + df.format(total) + " ⚠\uFE0F");
-                takeScreenshot("OrderSummary_CalculationError");
-            } else {
-                System.out.println("[SUCCESS] Order totals match ✅");
+            finishCheckout();
+            String completion = waits().find(Locators.COMPLETE_HEADER).getText();
+            if (!completion.equals("THANK YOU FOR YOUR ORDER")) {
+                return new CheckoutMatrix.Outcome(CheckoutMatrix.Status.FAIL, "Completion message: " + completion);
             }
-        } catch (NoSuchElementException e) {
-            System.out.println("[ERROR] Order summary elements not found ❌");
-            takeScreenshot("OrderSummary_VerificationFailed");
+            return new CheckoutMatrix.Outcome(CheckoutMatrix.Status.PASS, "Total " + ORDER_SUMMARY.money().format(summary.total()));
+        } catch (NoSuchElementException | TimeoutException e) {
+            takeScreenshot("Matrix_" + scenario.id() + "_ElementNotFound");
+            return new CheckoutMatrix.Outcome(CheckoutMatrix.Status.FAIL, e.getClass().getSimpleName() + ": " + e.getMessage());
+        } catch (WebDriverException | IllegalArgumentException e) {
+            return new CheckoutMatrix.Outcome(CheckoutMatrix.Status.ERROR, e.getClass().getSimpleName() + ": " + e.getMessage());
         }
     }
 
     // Completes checkout process
-    private void finishCheckout() throws IOException {
-        System.out.println("[CHECKOUT] Completing order \uD83D\uDCB3");
-
-        try {
-            driver.findElement(By.xpath("//*[@id=\"checkout_summary_container\"]/div/div[2]/div[8]/a[2]")).click();
-            System.out.println("[CHECKOUT] Finish button clicked \uD83D\uDCB3");
-            waitForPageLoad();
-        } catch (NoSuchElementException e) {
-            System.out.println("[ERROR] Finish button not found ❌");
-            takeScreenshot("FinishCheckout_ButtonNotFound");
+    private void finishCheckout() {
+        try (StepTimer.Step ignored = StepTimer.start("finishCheckout")) {
+            StepLog.info("Completing order");
+
+            try {
+                waits().find(Locators.FINISH_BUTTON).click();
+                StepLog.info("Finish button clicked");
+                waitForPageLoad();
+            } catch (NoSuchElementException e) {
+                StepLog.error("Finish button not found");
+                takeScreenshot("FinishCheckout_ButtonNotFound");
+            }
         }
     }
 
     // Verifies order completion message
-    private void verifyOrderCompletion() throws IOException {
-        System.out.println("[ORDER] Verifying completion \uD83D\uDCC3");
+    private void verifyOrderCompletion() {
+        try (StepTimer.Step ignored = StepTimer.start("verifyOrderCompletion")) {
+            StepLog.info("Verifying completion");
 
-        try {
-            String completionMessage = driver.findElement(By.className("complete-header")).getText();
-            System.out.println("[ORDER] Completion message: " + completionMessage + " \uD83D\uDCC3");
+            try {
+                String completionMessage = waits().find(Locators.COMPLETE_HEADER).getText();
+                StepLog.info("Completion message: {}", completionMessage);
 
-            if (completionMessage.equals("THANK YOU FOR YOUR ORDER")) {
-                System.out.println("[SUCCESS] Order completed successfully ✅");
-            } else {
-                System.out.println("[WARNING] Completion message mismatch ⚠\uFE0F");
-                takeScreenshot("OrderCompletion_MessageMismatch");
+                if (completionMessage.equals("THANK YOU FOR YOUR ORDER")) {
+                    StepLog.info("Order completed successfully");
+                } else {
+                    StepLog.warn("Completion message mismatch");
+                    takeScreenshot("OrderCompletion_MessageMismatch");
+                }
+            } catch (NoSuchElementException e) {
+                StepLog.error("Completion elements not found");
+                takeScreenshot("OrderCompletion_VerificationFailed");
             }
-        } catch (NoSuchElementException e) {
-            System.out.println("[ERROR] Completion elements not found ❌");
-            takeScreenshot("OrderCompletion_VerificationFailed");
         }
     }
 
     // Waits for page to fully load
     private void waitForPageLoad() {
-        System.out.println("[SYSTEM] Waiting for page to load 🖥️");
-        try {
-            new WebDriverWait(driver, Duration.ofSeconds(10)).until(
-                    d -> ((JavascriptExecutor) d).executeScript("return document.readyState").equals("complete"));
-            System.out.println("[SYSTEM] Page loaded successfully 🖥️");
-        } catch (TimeoutException e) {
-            System.out.println("[WARNING] Page load timeout ⚠\uFE0F");
+        try (StepTimer.Step ignored = StepTimer.start("waitForPageLoad")) {
+            StepLog.info("Waiting for page to load");
+            try {
+                waits().documentReady();
+                if (DriverPool.awaitNetworkRecovery()) {
+                    StepLog.warn("Navigation failed while offline, reloading after recovery");
+                    driver().navigate().refresh();
+                    waits().documentReady();
+                    Assert.assertFalse(NetworkProfile.isOfflineErrorPage(driver()),
+                            "Flow did not recover after the network came back");
+                    StepLog.info("Recovered after the offline period");
+                }
+                StepLog.info("Page loaded successfully");
+            } catch (TimeoutException e) {
+                StepLog.warn("Page load timeout");
+                throw e;
+            }
+        }
+        // Navigation/paint timing of the new page, checked against budgets (-Dperf.capture);
+        // timed as its own step so waitForPageLoad latencies stay comparable
+        if (PagePerformance.enabled()) {
+            try (StepTimer.Step ignored = StepTimer.start("capturePagePerformance")) {
+                PagePerformance.capture(driver());
+            }
         }
     }
 
-    // Takes screenshot and saves to specified location
-    private void takeScreenshot(String fileName) throws IOException {
-        System.out.println("[SYSTEM] Capturing screenshot: " + fileName + " 🖥️");
-        try {
-            File scrFile = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            FileUtils.copyFile(scrFile, new File("D:\\SQA SLIIT\\SauceDemoTests\\" + fileName + ".png"));
-            System.out.println("[SYSTEM] Screenshot saved successfully 🖥️");
-        } catch (IOException e) {
-            System.out.println("[ERROR] Failed to save screenshot ❌");
+    // Captures a screenshot (compression and writing happen on the background pipeline) and the session timeline
+    private void takeScreenshot(String fileName) {
+        try (StepTimer.Step ignored = StepTimer.start("takeScreenshot")) {
+            StepLog.info("Capturing screenshot: {}", fileName);
+            ScreenshotPipeline.capture(driver(), fileName);
         }
     }
 }
\ No newline at end of file
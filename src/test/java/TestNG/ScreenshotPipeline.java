@@ -0,0 +1,195 @@
+package TestNG;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Background screenshot pipeline: the test thread only pays for the capture itself,
+// while a single writer thread hashes, de-duplicates, compresses and writes the PNGs.
+// A frame identical to an earlier one becomes a hard link to that file (or, where links
+// are not supported, a small <name>.png.ref file naming it), so every requested name resolves.
+// The writer lives for the whole JVM; flush() only waits for the queue to drain.
+// Settings: -Dscreenshots.dir, -Dscreenshots.queue, -Dscreenshots.compression (0.0 = smallest files)
+public final class ScreenshotPipeline {
+
+    private static final Path OUTPUT_DIR = Paths.get(System.getProperty("screenshots.dir", "screenshots"));
+    private static final int QUEUE_CAPACITY = Integer.getInteger("screenshots.queue", 32);
+    private static final float COMPRESSION = Float.parseFloat(System.getProperty("screenshots.compression", "0.0"));
+
+    private static final AtomicInteger DROPPED = new AtomicInteger();
+
+    // Content hash -> file holding that content, and file -> hash of its current content
+    // (writer thread only); a name captured again with other content drops its old hash
+    private static final Map<String, String> WRITTEN = new HashMap<>();
+    private static final Map<String, String> CONTENT = new HashMap<>();
+
+    private static final ThreadPoolExecutor WRITER = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, executor) -> {
+                // flush() retries its barrier instead of dropping it
+                if (runnable instanceof FutureTask<?>) {
+                    throw new RejectedExecutionException("Screenshot queue full");
+                }
+                DROPPED.incrementAndGet();
+                StepLog.warn("Screenshot queue full, frame dropped");
+            });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            flush();
+            WRITER.shutdown();
+        }, "screenshot-flush"));
+    }
+
+    private ScreenshotPipeline() {
+    }
+
+    // Captures the current page and queues it for writing, never blocks on disk I/O
+    public static void capture(WebDriver driver, String fileName) {
+        byte[] png;
+        try (StepTimer.PhaseTimer ignored = StepTimer.phase(StepTimer.Phase.SCREENSHOT)) {
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (WebDriverException e) {
+            StepLog.error("Failed to capture screenshot {}", fileName);
+            return;
+        }
+        WRITER.execute(() -> write(fileName, png));
+    }
+
+    // Waits until every screenshot queued so far is written, e.g. at the end of a suite;
+    // the writer keeps running for later captures
+    public static void flush() {
+        FutureTask<Void> barrier = new FutureTask<>(() -> { }, null);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        try {
+            while (true) {
+                try {
+                    WRITER.execute(barrier);
+                    break;
+                } catch (RejectedExecutionException e) {
+                    if (WRITER.isShutdown() || System.nanoTime() > deadline) {
+                        throw new TimeoutException("queue still full");
+                    }
+                    Thread.sleep(10);
+                }
+            }
+            barrier.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            StepLog.warn("Screenshot writer did not finish in time");
+        }
+        int dropped = DROPPED.getAndSet(0);
+        if (dropped > 0) {
+            StepLog.warn("{} screenshots dropped (queue full, -Dscreenshots.queue={})", dropped, QUEUE_CAPACITY);
+        }
+    }
+
+    private static void write(String fileName, byte[] png) {
+        String hash = sha256(png);
+        String previous = WRITTEN.get(hash);
+        Path target = OUTPUT_DIR.resolve(fileName + ".png");
+        String replaced = CONTENT.put(fileName, hash);
+        if (replaced != null && !replaced.equals(hash)) {
+            // The old content of this name is about to go; later copies of it must not link here
+            WRITTEN.remove(replaced, fileName);
+        }
+        if (previous != null) {
+            if (!previous.equals(fileName)) {
+                link(target, previous);
+            }
+            return;
+        }
+
+        try {
+            Files.createDirectories(OUTPUT_DIR);
+            // Never write through a hard link into another capture's file
+            Files.deleteIfExists(target);
+            writeCompressed(png, target);
+            WRITTEN.put(hash, fileName);
+            StepLog.info("Screenshot saved: {}", target);
+        } catch (IOException e) {
+            StepLog.error("Failed to save screenshot {}: {}", target, e.getMessage());
+        }
+    }
+
+    // Points the requested name at the identical file already written
+    private static void link(Path target, String previous) {
+        Path existing = OUTPUT_DIR.resolve(previous + ".png");
+        try {
+            Files.deleteIfExists(target);
+            Files.createLink(target, existing);
+            StepLog.debug("Screenshot {} identical to {}, linked", target, previous);
+        } catch (IOException | UnsupportedOperationException e) {
+            Path pointer = OUTPUT_DIR.resolve(target.getFileName() + ".ref");
+            try {
+                Files.writeString(pointer, existing.getFileName().toString(), StandardCharsets.UTF_8);
+                StepLog.debug("Screenshot {} identical to {}, see {}", target, previous, pointer);
+            } catch (IOException ioe) {
+                StepLog.error("Failed to save screenshot {}: {}", target, ioe.getMessage());
+            }
+        }
+    }
+
+    // Re-encodes the PNG with the configured deflate level, falling back to the raw bytes
+    private static void writeCompressed(byte[] png, Path target) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            Files.write(target, png);
+            return;
+        }
+        Files.deleteIfExists(target);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(COMPRESSION);
+            }
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package TestNG;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Caches authenticated sessions (cookies + localStorage) per user, in memory and on disk,
+// so tests can skip the UI login. A session is captured once after a real UI login and
+// injected for later tests; if the app no longer accepts it, the UI login runs again.
+// Settings: -Dsession.cache.dir (default target/session-cache)
+public final class SessionCache {
+
+    private static final Path CACHE_DIR = Paths.get(System.getProperty("session.cache.dir", "target/session-cache"));
+    private static final Json JSON = new Json();
+
+    private static final String READ_STORAGE_SCRIPT = """
+            var out = {};
+            for (var i = 0; i < localStorage.length; i++) {
+              var key = localStorage.key(i);
+              out[key] = localStorage.getItem(key);
+            }
+            return out;
+            """;
+
+    private static final String WRITE_STORAGE_SCRIPT = """
+            localStorage.clear();
+            var items = arguments[0];
+            for (var key in items) localStorage.setItem(key, items[key]);
+            """;
+
+    // Sessions keyed by base URL + user name
+    private static final Map<String, Map<String, Object>> SESSIONS = new ConcurrentHashMap<>();
+
+    private SessionCache() {
+    }
+
+    // Leaves the driver logged in as the user on the inventory page, reusing a cached
+    // session when possible and falling back to uiLogin (which must end logged in)
+    public static void login(WebDriver driver, String username, Runnable uiLogin) {
+        String key = TestConfig.baseUrl() + "|" + username;
+        Map<String, Object> session = SESSIONS.computeIfAbsent(key, k -> readFromDisk(username));
+
+        if (session != null && !expired(session) && inject(driver, session)) {
+            StepLog.info("Reused cached session for {}", username);
+            return;
+        }
+
+        StepLog.info("No valid cached session for {}, logging in through the UI", username);
+        SESSIONS.remove(key);
+        driver.get(TestConfig.baseUrl());
+        uiLogin.run();
+        session = capture(driver);
+        SESSIONS.put(key, session);
+        writeToDisk(username, session);
+    }
+
+    // Drops the cached session for a user, e.g. after logging out
+    public static void invalidate(String username) {
+        SESSIONS.remove(TestConfig.baseUrl() + "|" + username);
+        try {
+            Files.deleteIfExists(file(username));
+        } catch (IOException e) {
+            StepLog.warn("Could not delete cached session for {}", username);
+        }
+    }
+
+    private static Map<String, Object> capture(WebDriver driver) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            // Only the authentication state is cached, never the cart
+            if (!cookie.getName().equals("cart-contents")) {
+                cookies.add(new LinkedHashMap<>(cookie.toJson()));
+            }
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        storage.remove("cart-contents");
+
+        Map<String, Object> session = new LinkedHashMap<>();
+        session.put("baseUrl", TestConfig.baseUrl());
+        session.put("savedAt", System.currentTimeMillis());
+        session.put("cookies", cookies);
+        session.put("localStorage", storage);
+        return session;
+    }
+
+    // Injects the session and opens the inventory page; false if the app rejected it
+    @SuppressWarnings("unchecked")
+    private static boolean inject(WebDriver driver, Map<String, Object> session) {
+        // Cookies and storage can only be set for the origin currently loaded
+        driver.get(TestConfig.baseUrl());
+        driver.manage().deleteAllCookies();
+        for (Map<String, Object> cookie : (List<Map<String, Object>>) session.get("cookies")) {
+            driver.manage().addCookie(toCookie(cookie));
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, session.get("localStorage"));
+
+        driver.get(TestConfig.pageUrl("inventory.html"));
+        return driver.getCurrentUrl().contains("inventory.html")
+                && !driver.findElements(By.cssSelector(".inventory_list")).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean expired(Map<String, Object> session) {
+        Date now = new Date();
+        for (Map<String, Object> cookie : (List<Map<String, Object>>) session.get("cookies")) {
+            Date expiry = expiry(cookie);
+            if (expiry != null && !expiry.after(now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Expiry is a Date when captured in this JVM and epoch seconds once read back from disk
+    private static Date expiry(Map<String, Object> cookie) {
+        Object expiry = cookie.get("expiry");
+        if (expiry instanceof Date date) {
+            return date;
+        }
+        return expiry instanceof Number seconds ? new Date(seconds.longValue() * 1000) : null;
+    }
+
+    // Domain is left out so the cookie is set host-only for the page currently loaded
+    private static Cookie toCookie(Map<String, Object> json) {
+        return new Cookie.Builder((String) json.get("name"), (String) json.get("value"))
+                .path((String) json.getOrDefault("path", "/"))
+                .expiresOn(expiry(json))
+                .isSecure(Boolean.TRUE.equals(json.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(json.get("httpOnly")))
+                .sameSite((String) json.get("sameSite"))
+                .build();
+    }
+
+    private static Map<String, Object> readFromDisk(String username) {
+        Path file = file(username);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            Map<String, Object> session = JSON.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            // A session saved against another deployment is useless here
+            return TestConfig.baseUrl().equals(session.get("baseUrl")) ? session : null;
+        } catch (IOException | JsonException e) {
+            StepLog.warn("Ignoring unreadable session cache {}", file);
+            return null;
+        }
+    }
+
+    private static void writeToDisk(String username, Map<String, Object> session) {
+        Path file = file(username);
+        try {
+            Files.createDirectories(CACHE_DIR);
+            // Write then move, so parallel workers never read a half-written file
+            Path temp = Files.createTempFile(CACHE_DIR, username, ".tmp");
+            Files.writeString(temp, JSON.toJson(session), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            StepLog.warn("Could not save session cache {}", file);
+        }
+    }
+
+    private static Path file(String username) {
+        return CACHE_DIR.resolve(username + ".json");
+    }
+}
@@ -0,0 +1,285 @@
+package TestNG;
+
+import org.openqa.selenium.json.Json;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.StringJoiner;
+
+// Splits the suite's test methods into N shards balanced by expected runtime (from the
+// DurationRecorder history, longest-processing-time-first), runs each shard in its own
+// JVM, locally or against a Selenium Grid, and merges the shard results into one
+// testng-results.xml. Every shard updates the history, so the next plan re-balances as
+// durations drift. Planned vs actual shard times and the imbalance are reported per run.
+//
+// mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=TestNG.ShardPlanner \
+//     -Dexec.args="--shards 4 [--grid http://localhost:4444] [--suite testng.xml] [--plan-only]"
+public final class ShardPlanner {
+
+    private static final Path OUTPUT = Paths.get("target", "shards");
+
+    // Expected duration for methods without history
+    private static final long DEFAULT_MS = Long.getLong("shards.defaultMs", 30_000);
+
+    // System properties handed on to shard JVMs: every setting the suite reads, including
+    // logging levels (org.slf4j.simpleLogger.*); JVM and OS properties are left out
+    private static final List<String> FORWARDED_PREFIXES = List.of("saucedemo.", "local.", "lean", "pool.", "parallel",
+            "steps.", "screenshots.", "session.", "matrix", "html.", "shards.", "network.",
+            "drivers.", "chromedriver.", "chrome.", "profile.", "money.", "trace", "perf.", "log.",
+            "retry.", "flaky.", "selenium.", "org.slf4j.simpleLogger.");
+
+    // Test methods assigned to one shard and their expected total runtime
+    private record Shard(int index, List<String> methods, long expectedMs) {
+    }
+
+    private ShardPlanner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int shardCount = 2;
+        String grid = null;
+        String suiteFile = "testng.xml";
+        boolean planOnly = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--shards" -> shardCount = Integer.parseInt(args[++i]);
+                case "--grid" -> grid = args[++i];
+                case "--suite" -> suiteFile = args[++i];
+                case "--plan-only" -> planOnly = true;
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        List<String> methods = discoverMethods(suiteFile);
+        List<Shard> shards = plan(methods, DurationRecorder.load(), shardCount);
+        for (Shard shard : shards) {
+            System.out.println("[SHARDS] Shard " + shard.index() + ": " + shard.methods().size() + " methods, expected "
+                    + shard.expectedMs() / 1000 + " s " + shard.methods() + " 📊");
+        }
+        if (planOnly) {
+            return;
+        }
+
+        Files.createDirectories(OUTPUT);
+        List<Process> processes = new ArrayList<>();
+        long[] started = new long[shards.size()];
+        for (Shard shard : shards) {
+            started[shard.index()] = System.nanoTime();
+            processes.add(launch(shard, grid, Math.max(1, Runtime.getRuntime().availableProcessors() / shards.size())));
+        }
+
+        long[] actualMs = new long[shards.size()];
+        boolean failed = false;
+        for (Shard shard : shards) {
+            int exit = processes.get(shard.index()).waitFor();
+            actualMs[shard.index()] = (System.nanoTime() - started[shard.index()]) / 1_000_000;
+            failed |= exit != 0;
+            System.out.println("[SHARDS] Shard " + shard.index() + " finished in " + actualMs[shard.index()] / 1000
+                    + " s with exit code " + exit + " 📊");
+        }
+
+        mergeResults(shards);
+        report(shards, actualMs);
+        if (failed) {
+            throw new IllegalStateException("One or more shards failed, see the shard logs in " + OUTPUT);
+        }
+    }
+
+    // Fully qualified names of the @Test methods of every class in the suite file
+    static List<String> discoverMethods(String suiteFile) throws Exception {
+        List<String> methods = new ArrayList<>();
+        for (XmlSuite suite : new Parser(suiteFile).parseToList()) {
+            for (XmlTest test : suite.getTests()) {
+                for (XmlClass xmlClass : test.getClasses()) {
+                    for (Method method : Class.forName(xmlClass.getName()).getMethods()) {
+                        if (method.isAnnotationPresent(Test.class)) {
+                            methods.add(xmlClass.getName() + "." + method.getName());
+                        }
+                    }
+                }
+            }
+        }
+        return methods;
+    }
+
+    // Longest expected method first, each onto the currently lightest shard
+    static List<Shard> plan(List<String> methods, Map<String, Long> history, int shardCount) {
+        long fallback = history.isEmpty() ? DEFAULT_MS
+                : history.values().stream().sorted().toList().get(history.size() / 2);
+        List<String> sorted = new ArrayList<>(methods);
+        sorted.sort(Comparator.comparingLong((String m) -> history.getOrDefault(m, fallback)).reversed());
+
+        List<List<String>> assigned = new ArrayList<>();
+        long[] load = new long[shardCount];
+        PriorityQueue<Integer> lightest = new PriorityQueue<>(Comparator.comparingLong((Integer s) -> load[s])
+                .thenComparingInt(s -> s));
+        for (int i = 0; i < shardCount; i++) {
+            assigned.add(new ArrayList<>());
+            lightest.add(i);
+        }
+        for (String method : sorted) {
+            int shard = lightest.poll();
+            assigned.get(shard).add(method);
+            load[shard] += history.getOrDefault(method, fallback);
+            lightest.add(shard);
+        }
+
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            if (!assigned.get(i).isEmpty()) {
+                shards.add(new Shard(shards.size(), assigned.get(i), load[i]));
+            }
+        }
+        return shards;
+    }
+
+    private static Process launch(Shard shard, String grid, int threads) throws Exception {
+        Path dir = OUTPUT.resolve("shard-" + shard.index());
+        Files.createDirectories(dir);
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(classpath());
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (FORWARDED_PREFIXES.stream().anyMatch(name::startsWith)) {
+                command.add("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        command.add("-Dthreads=" + Integer.getInteger("threads", threads));
+        // Each shard starts its own local server; a forwarded fixed port would collide
+        command.add("-Dlocal.port=0");
+        command.add("-Dsteps.report.dir=" + dir.resolve("step-latency"));
+        command.add("-Dscreenshots.dir=" + dir.resolve("screenshots"));
+        if (grid != null) {
+            command.add("-Dselenium.grid=" + grid);
+        }
+        command.add("org.testng.TestNG");
+        command.add("-d");
+        command.add(dir.toString());
+        command.add("-suitename");
+        command.add("SauceDemo Suite (shard " + shard.index() + ")");
+        command.add("-listener");
+        command.add(String.join(",", SuiteListener.class.getName(), DurationRecorder.class.getName(),
+                FlakinessTracker.class.getName()));
+        command.add("-methods");
+        command.add(String.join(",", shard.methods()));
+
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(dir.resolve("shard.log").toFile())
+                .start();
+    }
+
+    // Classpath of this JVM; exec:java runs us in a URLClassLoader rather than on java.class.path
+    private static String classpath() throws URISyntaxException {
+        if (ShardPlanner.class.getClassLoader() instanceof URLClassLoader loader && loader.getURLs().length > 0) {
+            StringJoiner entries = new StringJoiner(File.pathSeparator);
+            for (URL url : loader.getURLs()) {
+                entries.add(Paths.get(url.toURI()).toString());
+            }
+            return entries.toString();
+        }
+        return System.getProperty("java.class.path");
+    }
+
+    // Combines the shards' testng-results.xml files into target/shards/testng-results.xml
+    private static void mergeResults(List<Shard> shards) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        Document merged = null;
+        String[] counters = {"total", "passed", "failed", "skipped", "ignored"};
+        for (Shard shard : shards) {
+            File results = OUTPUT.resolve("shard-" + shard.index()).resolve("testng-results.xml").toFile();
+            if (!results.exists()) {
+                System.out.println("[WARNING] Shard " + shard.index() + " produced no testng-results.xml ⚠️");
+                continue;
+            }
+            Document document = factory.newDocumentBuilder().parse(results);
+            if (merged == null) {
+                merged = document;
+                continue;
+            }
+            Element root = merged.getDocumentElement();
+            for (String counter : counters) {
+                long sum = parseLong(root.getAttribute(counter))
+                        + parseLong(document.getDocumentElement().getAttribute(counter));
+                root.setAttribute(counter, String.valueOf(sum));
+            }
+            NodeList suites = document.getElementsByTagName("suite");
+            for (int i = 0; i < suites.getLength(); i++) {
+                root.appendChild(merged.importNode(suites.item(i), true));
+            }
+        }
+        if (merged == null) {
+            return;
+        }
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.transform(new DOMSource(merged), new StreamResult(OUTPUT.resolve("testng-results.xml").toFile()));
+        System.out.println("[SHARDS] Merged results written to " + OUTPUT.resolve("testng-results.xml") + " 📊");
+    }
+
+    // Prints and writes planned vs actual time per shard and how uneven the shards were
+    private static void report(List<Shard> shards, long[] actualMs) throws Exception {
+        long max = 0;
+        long min = Long.MAX_VALUE;
+        long sum = 0;
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Shard shard : shards) {
+            long actual = actualMs[shard.index()];
+            max = Math.max(max, actual);
+            min = Math.min(min, actual);
+            sum += actual;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("shard", shard.index());
+            row.put("methods", shard.methods());
+            row.put("expectedMs", shard.expectedMs());
+            row.put("actualMs", actual);
+            rows.add(row);
+        }
+        double mean = (double) sum / shards.size();
+        // 1.0 is perfectly balanced; 1.5 means the slowest shard ran 50% longer than the average
+        double imbalance = mean == 0 ? 1 : max / mean;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("shards", rows);
+        report.put("slowestMs", max);
+        report.put("fastestMs", min);
+        report.put("imbalance", imbalance);
+        Files.writeString(OUTPUT.resolve("shard-report.json"), new Json().toJson(report), StandardCharsets.UTF_8);
+        System.out.println(String.format(Locale.ROOT,
+                "[SHARDS] Slowest %d s, fastest %d s, imbalance %.2f (slowest / mean) 📊", max / 1000, min / 1000, imbalance));
+    }
+
+    private static long parseLong(String value) {
+        return value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+}
@@ -0,0 +1,27 @@
+package TestNG;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Java Flight Recorder event spanning one StepTimer step, so a recording can attribute CPU
+// samples, allocations and blocking on the same thread to the step that was running
+// (see org.example.Main --jfr). Costs nothing unless a recording enables it.
+@Name(StepEvent.NAME)
+@Label("Test Step")
+@Category({"SauceDemo", "Steps"})
+@Description("One helper step of a SauceDemo test, as timed by StepTimer")
+@StackTrace(false)
+public final class StepEvent extends Event {
+
+    public static final String NAME = "TestNG.Step";
+
+    @Label("Step")
+    String step;
+
+    @Label("Session")
+    String session;
+}
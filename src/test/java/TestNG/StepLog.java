@@ -0,0 +1,152 @@
+package TestNG;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Leveled, structured step logging. Callers pass an SLF4J pattern ("Found {} items") and
+// its arguments; when the level is enabled the event is captured with thread, session,
+// test and step tags and queued, and a single background thread formats and hands it to
+// SLF4J (slf4j-simple, configured in simplelogger.properties). Test threads never format
+// messages or contend for System.out. Arguments are formatted later on that thread, so pass
+// values that do not change afterwards. When the queue is full, DEBUG/INFO events are dropped
+// and counted; WARN/ERROR wait for space.
+// Settings: -Dlog.queue (events buffered, default 8192),
+//           -Dorg.slf4j.simpleLogger.log.steps=debug|info|warn (level of step logging)
+public final class StepLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("steps");
+    private static final int QUEUE_CAPACITY = Integer.getInteger("log.queue", 8192);
+
+    // One captured call; flushed is set only on the marker used by flush()
+    private record LogEvent(Level level, long timeMillis, String thread, String session, String test, String step,
+                            String pattern, Object[] args, CountDownLatch flushed) {
+    }
+
+    private static final BlockingQueue<LogEvent> QUEUE = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static final LongAdder DROPPED = new LongAdder();
+
+    // Test running on this thread, set between lease and release of its browser
+    private static final ThreadLocal<String> TEST = new ThreadLocal<>();
+
+    static {
+        Thread writer = new Thread(StepLog::drain, "step-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(StepLog::flush, "step-log-flush"));
+    }
+
+    private StepLog() {
+    }
+
+    public static void debug(String pattern, Object... args) {
+        log(Level.DEBUG, pattern, args);
+    }
+
+    public static void info(String pattern, Object... args) {
+        log(Level.INFO, pattern, args);
+    }
+
+    public static void warn(String pattern, Object... args) {
+        log(Level.WARN, pattern, args);
+    }
+
+    // A trailing Throwable argument is logged as the cause
+    public static void error(String pattern, Object... args) {
+        log(Level.ERROR, pattern, args);
+    }
+
+    // Tags events from this thread with the test until testFinished()
+    public static void testStarted(String test) {
+        TEST.set(test);
+    }
+
+    public static void testFinished() {
+        TEST.remove();
+    }
+
+    // Waits until every event queued so far has been written, e.g. at the end of the suite
+    public static void flush() {
+        CountDownLatch flushed = new CountDownLatch(1);
+        try {
+            QUEUE.put(new LogEvent(Level.INFO, 0, null, null, null, null, null, null, flushed));
+            if (!flushed.await(10, TimeUnit.SECONDS)) {
+                LOGGER.warn("Step log writer did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long dropped = DROPPED.sumThenReset();
+        if (dropped > 0) {
+            LOGGER.warn("{} step log events dropped, queue full (-Dlog.queue={})", dropped, QUEUE_CAPACITY);
+        }
+    }
+
+    private static void log(Level level, String pattern, Object[] args) {
+        if (!LOGGER.isEnabledForLevel(level)) {
+            return;
+        }
+        LogEvent event = new LogEvent(level, System.currentTimeMillis(), Thread.currentThread().getName(),
+                DriverPool.currentSessionId(), TEST.get(), StepTimer.currentStep(), pattern, args, null);
+        if (level.toInt() >= Level.WARN.toInt()) {
+            try {
+                QUEUE.put(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else if (!QUEUE.offer(event)) {
+            DROPPED.increment();
+        }
+    }
+
+    private static void drain() {
+        while (true) {
+            LogEvent event;
+            try {
+                event = QUEUE.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (event.flushed() != null) {
+                event.flushed().countDown();
+                continue;
+            }
+            try {
+                write(event);
+            } catch (RuntimeException e) {
+                // A failing toString() must not stop the writer; logged directly, the queue is this thread's
+                LOGGER.error("Failed to write step log event '{}'", event.pattern(), e);
+            }
+        }
+    }
+
+    private static void write(LogEvent event) {
+        LoggingEventBuilder builder = LOGGER.atLevel(event.level())
+                .addKeyValue("at", LocalTime.ofInstant(Instant.ofEpochMilli(event.timeMillis()), ZoneId.systemDefault()))
+                .addKeyValue("thread", event.thread())
+                .addKeyValue("session", event.session())
+                .addKeyValue("test", event.test() == null ? "-" : event.test())
+                .addKeyValue("step", event.step() == null ? "-" : event.step())
+                .setMessage(event.pattern());
+        Object[] args = event.args();
+        int count = args.length;
+        if (count > 0 && args[count - 1] instanceof Throwable cause) {
+            builder.setCause(cause);
+            count--;
+        }
+        for (int i = 0; i < count; i++) {
+            builder.addArgument(args[i]);
+        }
+        builder.log();
+    }
+}
@@ -0,0 +1,236 @@
+package TestNG;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-step latency instrumentation. Each supporting method runs inside a Step; time spent
+// in WebDriver round trips, event-driven waits and screenshot capture is split out per step.
+// Nested steps are all charged (a step's figures include its nested steps).
+// Under a network profile, steps are reported per profile (e.g. "3g/userLogin"); under an outage
+// profile only from the outage step on, since earlier steps ran on a normal network.
+// Every step is also a JFR StepEvent, for per-step profiling of the test JVM.
+// At the end of the suite a JSON and CSV report with p50/p95/p99/max per step is written
+// and compared against a saved baseline.
+// Settings: -Dsteps.report.dir (default target/step-latency),
+//           -Dsteps.baseline (default step-latency-baseline.json), -Dsteps.saveBaseline=true
+public final class StepTimer {
+
+    // Where time inside a step goes
+    public enum Phase {
+        ROUND_TRIP, WAIT, SCREENSHOT
+    }
+
+    private static final Path REPORT_DIR = Paths.get(System.getProperty("steps.report.dir", "target/step-latency"));
+    private static final Path BASELINE = Paths.get(System.getProperty("steps.baseline", "step-latency-baseline.json"));
+
+    private static final Map<String, StepStats> STATS = new ConcurrentHashMap<>();
+
+    // Steps currently open on this thread, innermost last
+    private static final ThreadLocal<Deque<Step>> ACTIVE = ThreadLocal.withInitial(ArrayDeque::new);
+
+    // Depth of WAIT / SCREENSHOT phases on this thread; round trips inside them are not counted twice
+    private static final ThreadLocal<int[]> PHASE_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private StepTimer() {
+    }
+
+    // Opens a step; close it with try-with-resources
+    public static Step start(String name) {
+        Step step = new Step(name);
+        ACTIVE.get().addLast(step);
+        return step;
+    }
+
+    // Name of the innermost step open on this thread, or null
+    public static String currentStep() {
+        Step step = ACTIVE.get().peekLast();
+        return step == null ? null : step.name;
+    }
+
+    // Opens a WAIT or SCREENSHOT phase charged to all open steps on this thread
+    public static PhaseTimer phase(Phase phase) {
+        PHASE_DEPTH.get()[0]++;
+        return new PhaseTimer(phase);
+    }
+
+    // Charges one WebDriver round trip to the open steps, unless it is part of a wait or screenshot
+    static void recordRoundTrip(long nanos) {
+        if (PHASE_DEPTH.get()[0] == 0) {
+            charge(Phase.ROUND_TRIP, nanos);
+        }
+    }
+
+    private static void charge(Phase phase, long nanos) {
+        for (Step step : ACTIVE.get()) {
+            step.phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    public static final class Step implements AutoCloseable {
+        private final String name;
+        private final long start = System.nanoTime();
+        private final long[] phaseNanos = new long[Phase.values().length];
+
+        // Session trace this step is marked in, if any
+        private final TraceBuffer trace = DriverPool.currentTrace();
+        private final StepEvent event = new StepEvent();
+
+        private Step(String name) {
+            // An outage profile goes offline as its outage step begins, so that step is already labeled
+            DriverPool.beforeStep(name);
+            this.name = DriverPool.currentNetworkTag() + name;
+            event.begin();
+            if (trace != null) {
+                trace.record(TraceBuffer.Kind.STEP_START, start, 0, name, null, null);
+            }
+        }
+
+        @Override
+        public void close() {
+            long elapsed = System.nanoTime() - start;
+            if (trace != null) {
+                trace.record(TraceBuffer.Kind.STEP_END, start + elapsed, elapsed, name, null, null);
+            }
+            ACTIVE.get().remove(this);
+            if (event.shouldCommit()) {
+                event.step = name;
+                event.session = DriverPool.currentSessionId();
+                event.commit();
+            }
+            StepStats stats = STATS.computeIfAbsent(name, k -> new StepStats());
+            stats.total.recordNanos(elapsed);
+            for (Phase phase : Phase.values()) {
+                stats.phases[phase.ordinal()].recordNanos(phaseNanos[phase.ordinal()]);
+            }
+        }
+    }
+
+    public static final class PhaseTimer implements AutoCloseable {
+        private final Phase phase;
+        private final long start = System.nanoTime();
+
+        private PhaseTimer(Phase phase) {
+            this.phase = phase;
+        }
+
+        @Override
+        public void close() {
+            PHASE_DEPTH.get()[0]--;
+            charge(phase, System.nanoTime() - start);
+        }
+    }
+
+    private static final class StepStats {
+        final LatencyHistogram total = new LatencyHistogram();
+        final LatencyHistogram[] phases = {new LatencyHistogram(), new LatencyHistogram(), new LatencyHistogram()};
+    }
+
+    // Writes step-latency.json / .csv, prints the baseline comparison and optionally saves a new baseline
+    public static void writeReport() {
+        if (STATS.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> steps = new ArrayList<>();
+        StringBuilder csv = new StringBuilder("step,count,metric,p50_ms,p95_ms,p99_ms,max_ms\n");
+        for (Map.Entry<String, StepStats> entry : new TreeMap<>(STATS).entrySet()) {
+            StepStats stats = entry.getValue();
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("step", entry.getKey());
+            step.put("count", stats.total.count());
+            step.put("total", summary(stats.total));
+            appendCsv(csv, entry.getKey(), "total", stats.total);
+            for (Phase phase : Phase.values()) {
+                String metric = phase.name().toLowerCase(Locale.ROOT);
+                step.put(metric, summary(stats.phases[phase.ordinal()]));
+                appendCsv(csv, entry.getKey(), metric, stats.phases[phase.ordinal()]);
+            }
+            steps.add(step);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", System.currentTimeMillis());
+        report.put("steps", steps);
+        String json = new Json().toJson(report);
+
+        try {
+            Files.createDirectories(REPORT_DIR);
+            Files.writeString(REPORT_DIR.resolve("step-latency.json"), json, StandardCharsets.UTF_8);
+            Files.writeString(REPORT_DIR.resolve("step-latency.csv"), csv, StandardCharsets.UTF_8);
+            System.out.println("[REPORT] Step latency report written to " + REPORT_DIR + " 📊");
+
+            compareWithBaseline(steps);
+            if (Boolean.getBoolean("steps.saveBaseline")) {
+                Files.writeString(BASELINE, json, StandardCharsets.UTF_8);
+                System.out.println("[REPORT] Saved new baseline " + BASELINE + " 📊");
+            }
+        } catch (IOException e) {
+            StepLog.error("Failed to write step latency report: {}", e.getMessage());
+        }
+    }
+
+    // Prints and writes the p95 change of each step against the baseline run
+    @SuppressWarnings("unchecked")
+    private static void compareWithBaseline(List<Map<String, Object>> steps) throws IOException {
+        if (!Files.exists(BASELINE)) {
+            System.out.println("[REPORT] No baseline at " + BASELINE + ", skipping comparison 📊");
+            return;
+        }
+        Map<String, Map<String, Object>> baseline = new LinkedHashMap<>();
+        try {
+            Map<String, Object> saved = new Json().toType(Files.readString(BASELINE, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            for (Map<String, Object> step : (List<Map<String, Object>>) saved.get("steps")) {
+                baseline.put((String) step.get("step"), step);
+            }
+        } catch (JsonException | ClassCastException e) {
+            StepLog.warn("Unreadable baseline {}", BASELINE);
+            return;
+        }
+
+        StringBuilder csv = new StringBuilder("step,baseline_p95_ms,current_p95_ms,change_pct\n");
+        System.out.println("[REPORT] p95 per step vs baseline 📊");
+        for (Map<String, Object> step : steps) {
+            String name = (String) step.get("step");
+            Map<String, Object> previous = baseline.get(name);
+            if (previous == null) {
+                continue;
+            }
+            double before = ((Number) ((Map<String, Object>) previous.get("total")).get("p95_ms")).doubleValue();
+            double now = ((Number) ((Map<String, Object>) step.get("total")).get("p95_ms")).doubleValue();
+            double change = before == 0 ? 0 : (now - before) / before * 100;
+            csv.append(String.format(Locale.ROOT, "%s,%.3f,%.3f,%.1f%n", name, before, now, change));
+            System.out.println(String.format(Locale.ROOT, "[REPORT]   %-28s %10.1f ms -> %10.1f ms (%+.1f%%)",
+                    name, before, now, change));
+        }
+        Files.writeString(REPORT_DIR.resolve("step-latency-vs-baseline.csv"), csv, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Object> summary(LatencyHistogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("p50_ms", histogram.percentileMicros(50) / 1000.0);
+        summary.put("p95_ms", histogram.percentileMicros(95) / 1000.0);
+        summary.put("p99_ms", histogram.percentileMicros(99) / 1000.0);
+        summary.put("max_ms", histogram.maxMicros() / 1000.0);
+        return summary;
+    }
+
+    private static void appendCsv(StringBuilder csv, String step, String metric, LatencyHistogram histogram) {
+        csv.append(String.format(Locale.ROOT, "%s,%d,%s,%.3f,%.3f,%.3f,%.3f%n", step, histogram.count(), metric,
+                histogram.percentileMicros(50) / 1000.0, histogram.percentileMicros(95) / 1000.0,
+                histogram.percentileMicros(99) / 1000.0, histogram.maxMicros() / 1000.0));
+    }
+}
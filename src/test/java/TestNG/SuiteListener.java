@@ -0,0 +1,70 @@
+package TestNG;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+
+// Applies the configured parallelism (-Dparallel, -Dthreads) to the suite before it runs;
+// with a checkout matrix, -Dmatrix.workers also sets the data-provider thread count, which
+// is what bounds the parallel matrix workers
+// and owns suite-wide resources such as the local SauceDemo server
+public class SuiteListener implements IAlterSuiteListener, ISuiteListener {
+
+    private static volatile LocalSauceDemoServer localServer;
+
+    // The running local server, or null when testing against the public site
+    public static LocalSauceDemoServer localServer() {
+        return localServer;
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        XmlSuite.ParallelMode mode = XmlSuite.ParallelMode.getValidParallel(TestConfig.parallelMode());
+        for (XmlSuite suite : suites) {
+            suite.setParallel(mode);
+            suite.setThreadCount(TestConfig.threadCount());
+            if (CheckoutMatrix.enabled()) {
+                suite.setDataProviderThreadCount(CheckoutMatrix.workers());
+            }
+            StepLog.info("Suite '{}' parallel={} threads={} dataProviderThreads={}", suite.getName(), mode,
+                    suite.getThreadCount(), suite.getDataProviderThreadCount());
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (TestConfig.useLocalServer() && localServer == null) {
+            localServer = LocalSauceDemoServer.start(TestConfig.localServerPort());
+            System.setProperty("saucedemo.baseUrl", localServer.baseUrl());
+        }
+        if (needsBrowser(suite.getXmlSuite())) {
+            DriverPool.prewarm(TestConfig.poolSize());
+        }
+    }
+
+    // True unless every class in the suite is @Browserless
+    private static boolean needsBrowser(XmlSuite suite) {
+        for (XmlTest test : suite.getTests()) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                Class<?> testClass = xmlClass.getSupportClass();
+                if (testClass == null || !testClass.isAnnotationPresent(Browserless.class)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (localServer != null) {
+            localServer.stop();
+            localServer = null;
+        }
+    }
+}
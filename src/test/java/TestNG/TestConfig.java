@@ -0,0 +1,58 @@
+package TestNG;
+
+import java.net.URI;
+import java.util.Locale;
+
+// Central place for run settings, read from -D system properties so the same
+// values work from Maven, testng.xml and the IDE
+public final class TestConfig {
+
+    private TestConfig() {
+    }
+
+    // Application entry point (login page); points at the local server when one is running
+    public static String baseUrl() {
+        return System.getProperty("saucedemo.baseUrl", "https://www.saucedemo.com/v1/index.html");
+    }
+
+    // Absolute URL of another app page, resolved against the base URL (e.g. "inventory.html")
+    public static String pageUrl(String page) {
+        return URI.create(baseUrl()).resolve(page).toString();
+    }
+
+    // Serve the app from the embedded LocalSauceDemoServer instead of the public site
+    public static boolean useLocalServer() {
+        return Boolean.getBoolean("saucedemo.local");
+    }
+
+    // Port for the local server, 0 picks a free one
+    public static int localServerPort() {
+        return Integer.getInteger("local.port", 0);
+    }
+
+    // TestNG parallel mode: none, methods, classes, tests or instances
+    public static String parallelMode() {
+        return System.getProperty("parallel", "methods");
+    }
+
+    // Browser sessions started before the first test, defaults to one per worker thread
+    public static int poolSize() {
+        return Integer.getInteger("pool.size", threadCount());
+    }
+
+    // Selenium Grid hub URL (e.g. http://localhost:4444); null starts local ChromeDriver sessions
+    public static String gridUrl() {
+        return System.getProperty("selenium.grid");
+    }
+
+    // Worker threads, defaults to one per available core
+    public static int threadCount() {
+        return Integer.getInteger("threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    // Currency format of prices on the pages; -Dmoney.locale (e.g. de-DE) for a localized deployment
+    public static MoneyFormat moneyFormat() {
+        String locale = System.getProperty("money.locale");
+        return locale == null || locale.isBlank() ? MoneyFormat.US : MoneyFormat.of(Locale.forLanguageTag(locale));
+    }
+}
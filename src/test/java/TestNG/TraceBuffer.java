@@ -0,0 +1,163 @@
+package TestNG;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fixed-size in-memory ring buffer of what happened in one browser session: WebDriver
+// commands with their latency and StepTimer steps, plus console messages and DevTools network
+// events when -Dtrace.devtools=true. Recording claims a slot with one atomic increment and
+// stores references into preallocated arrays, without locking; nothing is formatted or written
+// unless a test fails, when the timeline is flushed to a TSV file. DevTools events are decoded
+// into maps by Selenium on arrival, so they are off by default to keep passing runs cheap.
+// Settings: -Dtrace=false to disable, -Dtrace.devtools=true (console and network events),
+//           -Dtrace.capacity (events kept, default 4096), -Dtrace.dir (default target/traces)
+public final class TraceBuffer {
+
+    public enum Kind {
+        STEP_START, STEP_END, COMMAND, ERROR, CONSOLE, NETWORK
+    }
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("trace", "true"));
+    private static final boolean DEVTOOLS = Boolean.getBoolean("trace.devtools");
+    private static final int CAPACITY = Integer.getInteger("trace.capacity", 4096);
+    private static final Path DIR = Paths.get(System.getProperty("trace.dir", "target/traces"));
+    private static final int MAX_DETAIL = 160;
+
+    private final Kind[] kinds = new Kind[CAPACITY];
+    private final long[] times = new long[CAPACITY];
+    private final long[] durations = new long[CAPACITY];
+    private final String[] names = new String[CAPACITY];
+    private final Object[] details = new Object[CAPACITY];
+    private final Object[] extras = new Object[CAPACITY];
+
+    // Events recorded since the last clear; the newest CAPACITY of them are kept
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long origin = System.nanoTime();
+
+    private TraceBuffer() {
+    }
+
+    // New buffer for a session, fed with console and network events when enabled and DevTools is available;
+    // null when tracing is disabled
+    public static TraceBuffer create(WebDriver driver) {
+        if (!ENABLED) {
+            return null;
+        }
+        TraceBuffer trace = new TraceBuffer();
+        if (DEVTOOLS && driver instanceof HasDevTools hasDevTools) {
+            try {
+                trace.listen(hasDevTools.getDevTools());
+            } catch (RuntimeException e) {
+                StepLog.warn("DevTools not available, tracing WebDriver commands only: {}", e.getMessage());
+            }
+        }
+        return trace;
+    }
+
+    // Keeps references only (e.g. a command's target and argument array); formatting happens on flush.
+    // Lock-free: a slot being overwritten while a flush reads it can show up mixed in the file.
+    public void record(Kind kind, long startNanos, long durationNanos, String name, Object detail, Object extra) {
+        int slot = (int) (recorded.getAndIncrement() % CAPACITY);
+        kinds[slot] = kind;
+        times[slot] = startNanos;
+        durations[slot] = durationNanos;
+        names[slot] = name;
+        details[slot] = detail;
+        extras[slot] = extra;
+    }
+
+    // Starts a fresh timeline, e.g. when the session is leased to the next test
+    public synchronized void clear() {
+        recorded.set(0);
+        origin = System.nanoTime();
+        Arrays.fill(details, null);
+        Arrays.fill(extras, null);
+    }
+
+    // Writes the buffered timeline, oldest event first, and returns the file
+    public synchronized Path flush(String label) {
+        Path file = DIR.resolve(label.replaceAll("[^A-Za-z0-9_.-]", "_") + "-" + System.currentTimeMillis() + ".tsv");
+        long recorded = this.recorded.get();
+        long first = Math.max(0, recorded - CAPACITY);
+        try {
+            Files.createDirectories(DIR);
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                out.write("# " + label + ": " + (recorded - first) + " of " + recorded + " events\n");
+                out.write("offset_ms\tkind\tduration_ms\tname\tdetail\n");
+                for (long i = first; i < recorded; i++) {
+                    int slot = (int) (i % CAPACITY);
+                    out.write(String.format(Locale.ROOT, "%.3f\t%s\t%.3f\t%s\t%s%n",
+                            (times[slot] - origin) / 1e6, kinds[slot], durations[slot] / 1e6, names[slot],
+                            describe(kinds[slot], details[slot], extras[slot])));
+                }
+            }
+            StepLog.info("Timeline of {} events written to {}", recorded - first, file);
+        } catch (IOException e) {
+            StepLog.error("Failed to write trace {}: {}", file, e.getMessage());
+        }
+        return file;
+    }
+
+    private void listen(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(new Command<Void>("Runtime.enable", Map.of()));
+        devTools.send(new Command<Void>("Log.enable", Map.of()));
+        devTools.send(new Command<Void>("Network.enable", Map.of()));
+        for (String name : List.of("Runtime.consoleAPICalled", "Log.entryAdded", "Runtime.exceptionThrown")) {
+            devTools.addListener(event(name), params -> record(Kind.CONSOLE, System.nanoTime(), 0, name, params, null));
+        }
+        for (String name : List.of("Network.requestWillBeSent", "Network.responseReceived", "Network.loadingFailed")) {
+            devTools.addListener(event(name), params -> record(Kind.NETWORK, System.nanoTime(), 0, name, params, null));
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String describe(Kind kind, Object detail, Object extra) {
+        if (detail == null) {
+            return "";
+        }
+        String text;
+        if (kind == Kind.COMMAND) {
+            // detail = call target, extra = call arguments
+            String target = detail instanceof WebElement ? "element " + detail : detail.getClass().getSimpleName();
+            text = target + " " + Arrays.deepToString((Object[]) extra);
+        } else if (kind == Kind.ERROR) {
+            // detail = call target, extra = exception
+            text = detail.getClass().getSimpleName() + " " + extra;
+        } else if (kind == Kind.NETWORK) {
+            Map<String, Object> params = (Map<String, Object>) detail;
+            Map<String, Object> message = (Map<String, Object>) params.getOrDefault("response", params.get("request"));
+            text = message == null ? String.valueOf(params.get("errorText"))
+                    : message.getOrDefault("status", message.get("method")) + " " + message.get("url");
+        } else if (kind == Kind.CONSOLE) {
+            Map<String, Object> params = (Map<String, Object>) detail;
+            Object entry = params.getOrDefault("entry", params.getOrDefault("args", params.get("exceptionDetails")));
+            text = params.getOrDefault("type", "") + " " + entry;
+        } else {
+            text = String.valueOf(detail);
+        }
+        text = text.replace('\t', ' ').replace('\n', ' ');
+        return text.length() > MAX_DETAIL ? text.substring(0, MAX_DETAIL) + "…" : text;
+    }
+}
@@ -0,0 +1,65 @@
+package TestNG;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
+
+// Retries a failed test method, and only that method, when the failure is transient:
+// timeouts, stale elements and lost connections to the browser. Assertion failures and
+// missing elements are real failures and are never retried. Attempts back off
+// exponentially up to a cap. Attached to every @Test by FlakinessTracker.
+// Settings: -Dretry.max (default 2), -Dretry.baseMs (default 500), -Dretry.capMs (default 5000)
+public class TransientRetryAnalyzer implements IRetryAnalyzer {
+
+    private static final int MAX_RETRIES = Integer.getInteger("retry.max", 2);
+    private static final long BASE_MS = Long.getLong("retry.baseMs", 500);
+    private static final long CAP_MS = Long.getLong("retry.capMs", 5_000);
+
+    // TestNG keeps one analyzer per test method invocation, so this counts that invocation's retries
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        Throwable failure = result.getThrowable();
+        if (attempts >= MAX_RETRIES || !isTransient(failure)) {
+            return false;
+        }
+        long backoff = Math.min(CAP_MS, BASE_MS << attempts);
+        attempts++;
+        StepLog.warn("{} failed with {}, retry {}/{} in {} ms", DurationRecorder.key(result),
+                failure.getClass().getSimpleName(), attempts, MAX_RETRIES, backoff);
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+
+    // True when the failure, or anything in its cause chain, is a known transient error
+    static boolean isTransient(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof NoSuchElementException) {
+                // A lookup that timed out is reported as a missing element, which is a real failure
+                return false;
+            }
+            if (t instanceof TimeoutException
+                    || t instanceof StaleElementReferenceException
+                    || t instanceof UnreachableBrowserException
+                    || t instanceof NoSuchSessionException
+                    || t instanceof ConnectException
+                    || t instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
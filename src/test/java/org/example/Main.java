@@ -0,0 +1,202 @@
+package org.example;
+
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Runs the SauceDemo suite in-process: discovers the @Test methods of the test classes,
+// keeps the ones matching --methods, applies parallelism and the target URL, and runs them
+// through TestNG with the same listeners as testng.xml. With --jfr a Flight Recorder session
+// wraps the run and the recording is broken down per test step (see StepProfile).
+// Lives with the tests (TestNG is a test dependency), so run it on the test classpath:
+//   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.example.Main \
+//       -Dexec.args="--methods checkout*,verifyProduct* --threads 8 --local --jfr"
+public class Main {
+
+    private static final String USAGE = """
+            Usage: org.example.Main [options]
+              --class <name>      test class to run, repeatable (default TestNG.SauceDemoTests)
+              --methods <glob,..> only methods whose name or Class.method matches, e.g. checkout*
+              --parallel <mode>   TestNG parallel mode: none, methods, classes, tests, instances
+              --threads <n>       worker threads
+              --url <url>         login page of the deployment under test
+              --local             serve the app from the embedded local server
+              --jfr [file]        record with Java Flight Recorder (default target/jfr/run.jfr)
+              --list              print the selected methods and exit
+              --help              print this message
+            """;
+
+    // A missing or malformed command-line value
+    private static final class UsageException extends RuntimeException {
+        UsageException(String message) {
+            super(message);
+        }
+    }
+
+    private static final String DEFAULT_CLASS = "TestNG.SauceDemoTests";
+    private static final List<String> LISTENERS = List.of("TestNG.SuiteListener", "TestNG.DurationRecorder",
+            "TestNG.FlakinessTracker");
+    private static final Path DEFAULT_RECORDING = Paths.get("target", "jfr", "run.jfr");
+
+    public static void main(String[] args) throws Exception {
+        List<String> classes = new ArrayList<>();
+        List<String> globs = new ArrayList<>();
+        Path recordingFile = null;
+        boolean listOnly = false;
+        Map<String, List<String>> selected;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--class" -> classes.add(value(args, i++));
+                    case "--methods" -> globs.addAll(List.of(value(args, i++).split(",")));
+                    // Applied to the suite by SuiteListener, like -Dparallel / -Dthreads on mvn test
+                    case "--parallel" -> System.setProperty("parallel", parallelMode(value(args, i++)));
+                    case "--threads" -> System.setProperty("threads", String.valueOf(positive(value(args, i++))));
+                    case "--url" -> System.setProperty("saucedemo.baseUrl", value(args, i++));
+                    case "--local" -> System.setProperty("saucedemo.local", "true");
+                    case "--jfr" -> recordingFile = i + 1 < args.length && !args[i + 1].startsWith("--")
+                            ? Paths.get(args[++i]) : DEFAULT_RECORDING;
+                    case "--list" -> listOnly = true;
+                    case "--help" -> {
+                        System.out.print(USAGE);
+                        return;
+                    }
+                    default -> throw new UsageException("Unknown argument: " + args[i]);
+                }
+            }
+            if (classes.isEmpty()) {
+                classes.add(DEFAULT_CLASS);
+            }
+            selected = discover(classes, globs);
+        } catch (UsageException e) {
+            System.out.println("[ERROR] " + e.getMessage() + " ❌");
+            System.out.print(USAGE);
+            return;
+        }
+        int count = selected.values().stream().mapToInt(List::size).sum();
+        if (count == 0) {
+            System.out.println("[ERROR] No @Test methods in " + classes + " match " + globs + " ❌");
+            return;
+        }
+        for (Map.Entry<String, List<String>> entry : selected.entrySet()) {
+            System.out.println("[RUNNER] " + entry.getKey() + ": " + entry.getValue() + " ▶️");
+        }
+        if (listOnly) {
+            return;
+        }
+
+        TestNG testng = new TestNG();
+        testng.setXmlSuites(List.of(suite(selected)));
+        testng.setOutputDirectory("target/testng-main");
+
+        StepProfile profile = recordingFile == null ? null : StepProfile.start(recordingFile);
+        try {
+            testng.run();
+        } finally {
+            if (profile != null) {
+                profile.stopAndReport();
+            }
+        }
+        System.out.println("[RUNNER] " + count + " methods finished with status " + testng.getStatus() + " ▶️");
+        if (testng.getStatus() != 0) {
+            throw new IllegalStateException("Suite failed, see target/testng-main");
+        }
+    }
+
+    // The value following the flag at index i
+    private static String value(String[] args, int i) {
+        if (i + 1 >= args.length || args[i + 1].startsWith("--")) {
+            throw new UsageException(args[i] + " needs a value");
+        }
+        return args[i + 1];
+    }
+
+    private static int positive(String value) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new UsageException("--threads expects a positive number, got '" + value + "'");
+    }
+
+    private static String parallelMode(String mode) {
+        boolean known = false;
+        for (XmlSuite.ParallelMode value : XmlSuite.ParallelMode.values()) {
+            known |= value.name().equalsIgnoreCase(mode) || value.toString().equalsIgnoreCase(mode);
+        }
+        if (!known) {
+            throw new UsageException("Unknown parallel mode '" + mode + "'");
+        }
+        return mode;
+    }
+
+    // @Test methods per class whose name (or Class.method) matches one of the globs; all when none given
+    static Map<String, List<String>> discover(List<String> classes, List<String> globs) {
+        List<Pattern> patterns = new ArrayList<>();
+        for (String glob : globs) {
+            if (!glob.isBlank()) {
+                patterns.add(Pattern.compile(("\\Q" + glob.trim() + "\\E").replace("*", "\\E.*\\Q")));
+            }
+        }
+        Map<String, List<String>> selected = new LinkedHashMap<>();
+        for (String className : classes) {
+            List<String> methods = new ArrayList<>();
+            Class<?> testClass;
+            try {
+                testClass = Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                throw new UsageException("Test class " + className + " not found on the test classpath");
+            }
+            for (Method method : testClass.getMethods()) {
+                Test test = method.getAnnotation(Test.class);
+                if (test == null || !test.enabled()) {
+                    continue;
+                }
+                String qualified = className + "." + method.getName();
+                if (patterns.isEmpty() || patterns.stream().anyMatch(p -> p.matcher(method.getName()).matches()
+                        || p.matcher(qualified).matches())) {
+                    methods.add(method.getName());
+                }
+            }
+            methods.sort(null);
+            selected.put(className, methods);
+        }
+        return selected;
+    }
+
+    // One <test> per class with only the selected methods included, as testng.xml would declare it
+    private static XmlSuite suite(Map<String, List<String>> selected) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("SauceDemo Suite");
+        suite.setListeners(new ArrayList<>(LISTENERS));
+        for (Map.Entry<String, List<String>> entry : selected.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            XmlTest test = new XmlTest(suite);
+            test.setName(entry.getKey().substring(entry.getKey().lastIndexOf('.') + 1));
+            test.setVerbose(2);
+            test.setPreserveOrder(true);
+            XmlClass xmlClass = new XmlClass(entry.getKey(), false);
+            xmlClass.setIncludedMethods(new ArrayList<>(entry.getValue().stream().map(XmlInclude::new).toList()));
+            test.setXmlClasses(new ArrayList<>(List.of(xmlClass)));
+        }
+        return suite;
+    }
+}
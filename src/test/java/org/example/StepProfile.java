@@ -0,0 +1,223 @@
+package org.example;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Java Flight Recorder session around a suite run, broken down per test step. StepTimer emits a
+// "TestNG.Step" event for every step; CPU samples, allocation samples, monitor blocking, parking
+// and socket I/O recorded on a thread are charged to the innermost step open on that thread at
+// the time (self figures: a step's figures exclude its nested steps). Events on test threads
+// outside any step go to "(between steps)", events on other threads (JDK HttpClient selector,
+// JIT, GC) to "(other threads)". Selenium talks to the driver through the JDK HttpClient, so
+// a test thread's wait for a driver response shows as parked time on its step and the socket
+// bytes under "(other threads)".
+// Writes <recording>.csv next to the recording and prints the steps using the most CPU.
+// Settings: -Djfr.thresholdMs (minimum blocked / parked / socket event duration, default 1),
+//           -Djfr.samplingMs (CPU sampling period, default 10)
+final class StepProfile {
+
+    private static final String STEP_EVENT = "TestNG.Step";
+    private static final String BETWEEN_STEPS = "(between steps)";
+    private static final String OTHER_THREADS = "(other threads)";
+
+    private static final Duration THRESHOLD = Duration.ofMillis(Long.getLong("jfr.thresholdMs", 1));
+    private static final Duration SAMPLING = Duration.ofMillis(Long.getLong("jfr.samplingMs", 10));
+
+    // One step execution on one thread, in epoch nanoseconds
+    private record Interval(long start, long end, String step) {
+    }
+
+    // Figures charged to one step
+    private static final class Totals {
+        long count;
+        long durationNanos;
+        long cpuSamples;
+        long allocatedBytes;
+        long monitorNanos;
+        long parkNanos;
+        long socketReadNanos;
+        long socketReadBytes;
+        long socketWriteNanos;
+        long socketWriteBytes;
+    }
+
+    private final Recording recording;
+    private final Path file;
+
+    private StepProfile(Recording recording, Path file) {
+        this.recording = recording;
+        this.file = file;
+    }
+
+    // Starts a recording based on the JDK "profile" settings with lower thresholds for the blocking events
+    static StepProfile start(Path file) throws IOException, ParseException {
+        Recording recording = new Recording(Configuration.getConfiguration("profile"));
+        recording.setName("sauce-demo-steps");
+        recording.setToDisk(true);
+        recording.enable(STEP_EVENT).withThreshold(Duration.ZERO);
+        recording.enable("jdk.ExecutionSample").withPeriod(SAMPLING);
+        recording.enable("jdk.ObjectAllocationSample");
+        for (String blocking : List.of("jdk.JavaMonitorEnter", "jdk.ThreadPark", "jdk.SocketRead", "jdk.SocketWrite")) {
+            recording.enable(blocking).withThreshold(THRESHOLD);
+        }
+        recording.start();
+        System.out.println("[JFR] Recording started, sampling every " + SAMPLING.toMillis() + " ms ⏺️");
+        return new StepProfile(recording, file);
+    }
+
+    // Stops and saves the recording, attributes its events to steps and writes the CSV summary
+    void stopAndReport() {
+        try {
+            recording.stop();
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            recording.dump(file);
+            System.out.println("[JFR] Recording written to " + file + " ⏺️");
+
+            Map<Long, List<Interval>> steps = readSteps();
+            Map<String, Totals> totals = attribute(steps);
+            writeCsv(totals);
+        } catch (IOException e) {
+            System.out.println("[ERROR] Failed to write JFR step profile: " + e.getMessage() + " ❌");
+        } finally {
+            recording.close();
+        }
+    }
+
+    // First pass: step intervals per thread, sorted by start
+    private Map<Long, List<Interval>> readSteps() throws IOException {
+        Map<Long, List<Interval>> steps = new HashMap<>();
+        try (RecordingFile events = new RecordingFile(file)) {
+            while (events.hasMoreEvents()) {
+                RecordedEvent event = events.readEvent();
+                if (!STEP_EVENT.equals(event.getEventType().getName()) || event.getThread() == null) {
+                    continue;
+                }
+                steps.computeIfAbsent(event.getThread().getJavaThreadId(), k -> new ArrayList<>())
+                        .add(new Interval(nanos(event.getStartTime()), nanos(event.getEndTime()), event.getString("step")));
+            }
+        }
+        for (List<Interval> intervals : steps.values()) {
+            intervals.sort(Comparator.comparingLong(Interval::start));
+        }
+        return steps;
+    }
+
+    // Second pass: every profiling event charged to the step open on its thread when it started
+    private Map<String, Totals> attribute(Map<Long, List<Interval>> steps) throws IOException {
+        Map<String, Totals> totals = new HashMap<>();
+        try (RecordingFile events = new RecordingFile(file)) {
+            while (events.hasMoreEvents()) {
+                RecordedEvent event = events.readEvent();
+                String type = event.getEventType().getName();
+                if (STEP_EVENT.equals(type)) {
+                    Totals step = totals.computeIfAbsent(event.getString("step"), k -> new Totals());
+                    step.count++;
+                    step.durationNanos += event.getDuration().toNanos();
+                    continue;
+                }
+                RecordedThread thread = "jdk.ExecutionSample".equals(type)
+                        ? event.getThread("sampledThread") : event.getThread();
+                Totals target = totals.computeIfAbsent(stepAt(steps, thread, nanos(event.getStartTime())), k -> new Totals());
+                long duration = event.getDuration().toNanos();
+                switch (type) {
+                    case "jdk.ExecutionSample" -> target.cpuSamples++;
+                    case "jdk.ObjectAllocationSample" -> target.allocatedBytes += event.getLong("weight");
+                    case "jdk.JavaMonitorEnter" -> target.monitorNanos += duration;
+                    case "jdk.ThreadPark" -> target.parkNanos += duration;
+                    case "jdk.SocketRead" -> {
+                        target.socketReadNanos += duration;
+                        target.socketReadBytes += Math.max(0, event.getLong("bytesRead"));
+                    }
+                    case "jdk.SocketWrite" -> {
+                        target.socketWriteNanos += duration;
+                        target.socketWriteBytes += Math.max(0, event.getLong("bytesWritten"));
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        return totals;
+    }
+
+    // Innermost step containing the time: steps on a thread nest, so it is the latest-starting one that has not ended
+    private static String stepAt(Map<Long, List<Interval>> steps, RecordedThread thread, long time) {
+        List<Interval> intervals = thread == null ? null : steps.get(thread.getJavaThreadId());
+        if (intervals == null) {
+            return OTHER_THREADS;
+        }
+        int low = 0;
+        int high = intervals.size() - 1;
+        int last = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (intervals.get(mid).start() <= time) {
+                last = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        for (int i = last; i >= 0; i--) {
+            if (intervals.get(i).end() >= time) {
+                return intervals.get(i).step();
+            }
+        }
+        return BETWEEN_STEPS;
+    }
+
+    private void writeCsv(Map<String, Totals> totals) throws IOException {
+        long allSamples = totals.values().stream().mapToLong(t -> t.cpuSamples).sum();
+        List<Map.Entry<String, Totals>> rows = new ArrayList<>(totals.entrySet());
+        rows.sort(Comparator.comparingLong((Map.Entry<String, Totals> e) -> e.getValue().cpuSamples).reversed()
+                .thenComparing(Map.Entry::getKey));
+
+        StringBuilder csv = new StringBuilder("step,count,total_ms,cpu_samples,cpu_pct,est_cpu_ms,allocated_mb,"
+                + "monitor_blocked_ms,parked_ms,socket_read_ms,socket_read_kb,socket_write_ms,socket_write_kb\n");
+        for (Map.Entry<String, Totals> row : rows) {
+            Totals t = row.getValue();
+            csv.append(String.format(Locale.ROOT, "%s,%d,%.1f,%d,%.1f,%d,%.2f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f%n",
+                    row.getKey(), t.count, t.durationNanos / 1e6, t.cpuSamples, percent(t.cpuSamples, allSamples),
+                    t.cpuSamples * SAMPLING.toMillis(), t.allocatedBytes / 1048576.0, t.monitorNanos / 1e6,
+                    t.parkNanos / 1e6, t.socketReadNanos / 1e6, t.socketReadBytes / 1024.0,
+                    t.socketWriteNanos / 1e6, t.socketWriteBytes / 1024.0));
+        }
+        Path csvFile = file.resolveSibling(file.getFileName().toString().replaceFirst("\\.jfr$", "") + ".csv");
+        Files.writeString(csvFile, csv, StandardCharsets.UTF_8);
+
+        System.out.println("[JFR] Per-step profile written to " + csvFile + " 📊");
+        System.out.println(String.format(Locale.ROOT, "[JFR]   %-36s %8s %10s %10s %10s", "step", "cpu %", "alloc MB",
+                "blocked ms", "parked ms"));
+        for (Map.Entry<String, Totals> row : rows.subList(0, Math.min(10, rows.size()))) {
+            Totals t = row.getValue();
+            System.out.println(String.format(Locale.ROOT, "[JFR]   %-36s %8.1f %10.2f %10.1f %10.1f", row.getKey(),
+                    percent(t.cpuSamples, allSamples), t.allocatedBytes / 1048576.0, t.monitorNanos / 1e6,
+                    t.parkNanos / 1e6));
+        }
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : part * 100.0 / whole;
+    }
+
+    private static long nanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+}
@@ -0,0 +1,166 @@
+// Client behaviour of the local SauceDemo v1 stand-in.
+// Session: "session-username" cookie. Cart: "cart-contents" in localStorage (as on the real
+// site) mirrored to a cookie so the server can render the cart, summary and badge.
+(function () {
+  'use strict';
+
+  var CART_KEY = 'cart-contents';
+  var SESSION_KEY = 'session-username';
+  var USERS = ['standard_user', 'locked_out_user', 'problem_user', 'performance_glitch_user'];
+  var PASSWORD = 'secret_sauce';
+
+  function getCookie(name) {
+    var parts = document.cookie.split(';');
+    for (var i = 0; i < parts.length; i++) {
+      var pair = parts[i].trim().split('=');
+      if (pair[0] === name) return decodeURIComponent(pair.slice(1).join('='));
+    }
+    return null;
+  }
+
+  function setCookie(name, value) {
+    document.cookie = name + '=' + encodeURIComponent(value) + '; path=/';
+  }
+
+  function clearCookie(name) {
+    document.cookie = name + '=; path=/; max-age=0';
+  }
+
+  function readCart() {
+    var cookie = getCookie(CART_KEY);
+    return cookie ? cookie.split('-').map(Number) : [];
+  }
+
+  function writeCart(items) {
+    if (items.length) {
+      localStorage.setItem(CART_KEY, JSON.stringify(items));
+      setCookie(CART_KEY, items.join('-'));
+    } else {
+      localStorage.removeItem(CART_KEY);
+      clearCookie(CART_KEY);
+    }
+    updateBadge(items);
+  }
+
+  function updateBadge(items) {
+    var link = document.querySelector('.shopping_cart_link');
+    if (!link) return;
+    var badge = link.querySelector('.shopping_cart_badge');
+    if (items.length) {
+      if (!badge) {
+        badge = document.createElement('span');
+        badge.className = 'fa-layers-counter shopping_cart_badge';
+        link.appendChild(badge);
+      }
+      badge.textContent = String(items.length);
+    } else if (badge) {
+      badge.parentNode.removeChild(badge);
+    }
+  }
+
+  function showError(form, message) {
+    var error = form.querySelector('.error-message');
+    error.textContent = 'Epic sadface: ' + message;
+    error.hidden = false;
+  }
+
+  // Login page
+  var loginButton = document.getElementById('login-button');
+  if (loginButton) {
+    loginButton.form.addEventListener('submit', function (event) {
+      event.preventDefault();
+      var username = document.getElementById('user-name').value;
+      var password = document.getElementById('password').value;
+      if (!username) {
+        showError(loginButton.form, 'Username is required');
+      } else if (!password) {
+        showError(loginButton.form, 'Password is required');
+      } else if (USERS.indexOf(username) < 0 || password !== PASSWORD) {
+        showError(loginButton.form, 'Username and password do not match any user in this service');
+      } else if (username === 'locked_out_user') {
+        showError(loginButton.form, 'Sorry, this user has been locked out.');
+      } else {
+        setCookie(SESSION_KEY, username);
+        window.location.href = './inventory.html';
+      }
+    });
+  }
+
+  // Hamburger menu
+  var menu = document.querySelector('.bm-menu-wrap');
+  if (menu) {
+    document.getElementById('react-burger-menu-btn').addEventListener('click', function () {
+      menu.classList.add('bm-open');
+      menu.setAttribute('aria-hidden', 'false');
+    });
+    document.getElementById('react-burger-cross-btn').addEventListener('click', function () {
+      menu.classList.remove('bm-open');
+      menu.setAttribute('aria-hidden', 'true');
+    });
+    document.getElementById('logout_sidebar_link').addEventListener('click', function () {
+      clearCookie(SESSION_KEY);
+      writeCart([]);
+    });
+    document.getElementById('reset_sidebar_link').addEventListener('click', function (event) {
+      event.preventDefault();
+      writeCart([]);
+      document.querySelectorAll('.btn_inventory').forEach(function (button) {
+        button.className = 'btn_primary btn_inventory';
+        button.textContent = 'ADD TO CART';
+      });
+    });
+  }
+
+  // Inventory add / remove
+  document.querySelectorAll('.btn_inventory').forEach(function (button) {
+    button.addEventListener('click', function () {
+      var id = Number(button.getAttribute('data-id'));
+      var cart = readCart();
+      var position = cart.indexOf(id);
+      if (position < 0) {
+        cart.push(id);
+        button.className = 'btn_secondary btn_inventory';
+        button.textContent = 'REMOVE';
+      } else {
+        cart.splice(position, 1);
+        button.className = 'btn_primary btn_inventory';
+        button.textContent = 'ADD TO CART';
+      }
+      writeCart(cart);
+    });
+  });
+
+  // Cart remove
+  document.querySelectorAll('.cart_item .cart_button').forEach(function (button) {
+    button.addEventListener('click', function () {
+      var id = Number(button.getAttribute('data-id'));
+      writeCart(readCart().filter(function (item) { return item !== id; }));
+      var row = button.closest('.cart_item');
+      row.parentNode.removeChild(row);
+    });
+  });
+
+  // Checkout: your information
+  var firstName = document.getElementById('first-name');
+  if (firstName) {
+    firstName.form.addEventListener('submit', function (event) {
+      event.preventDefault();
+      if (!firstName.value) {
+        showError(firstName.form, 'First Name is required');
+      } else if (!document.getElementById('last-name').value) {
+        showError(firstName.form, 'Last Name is required');
+      } else if (!document.getElementById('postal-code').value) {
+        showError(firstName.form, 'Postal Code is required');
+      } else {
+        window.location.href = './checkout-step-two.html';
+      }
+    });
+  }
+
+  // Checkout: overview, finishing empties the cart
+  document.querySelectorAll('.summary_info .cart_button').forEach(function (finish) {
+    finish.addEventListener('click', function () {
+      writeCart([]);
+    });
+  });
+})();